@@ -1,55 +1,90 @@
 package com.github.kailex;
 
-import com.github.kailex.api.resourcepack.ResourcepackManager;
+import com.github.kailex.api.resourcepack.*;
+import com.github.kailex.api.util.FxUtils;
 import com.github.kailex.api.util.LoggerUtil;
+import com.github.kailex.api.util.StartupOrchestrator;
 import com.github.kailex.fxWindow.KailexApp;
+import javafx.application.Platform;
 
 import java.io.File;
 import java.nio.file.Path;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Launches application and does several things e.g. start loading
- * resources tasks before launching javaFx window.
+ * resources tasks parallel to launching javaFx window.
  *
  * @author Alexander Ley
- * @version 1.0
+ * @version 1.2
  */
 public class LaunchApplication {
     public static final Logger LOGGER = LoggerUtil.getLogger("KailexApp");
 
     public static void main(String[] args) {
-        if (KailexApp.GAME_SETTINGS == null) return;
+        final StartupOrchestrator startup = createStartup();
 
-        try {
+        //Progress of phases which run before JavaFx is started is shown when loading screen is up.
+        FxUtils.UPDATES.setReady(false);
+        KailexApp.STARTED.thenRun(() -> FxUtils.UPDATES.setReady(true));
+
+        startup.start().whenComplete((value, e) -> {
+            if (e == null) return;
+
+            //Error is shown when JavaFx is up (or printed if JavaFx cannot start).
+            LOGGER.log(Level.SEVERE, "Startup failed: " + e.getMessage());
+            KailexApp.STARTED.whenComplete((stage, fxError) ->
+                    LoggerUtil.showError("Cannot start game. Application will be closed.", Platform::exit));
+        });
+
+        //Blocks until application is closed, so it runs parallel to startup phases.
+        KailexApp.main(args);
+    }
+
+    /**
+     * Creates startup phases. Home directory, settings and resourcepack are loaded parallel to JavaFx launch
+     * (progress is shown by loading screen as soon as it is up) and independent assets are loaded in parallel.
+     */
+    public static StartupOrchestrator createStartup(){
+        final StartupOrchestrator startup = new StartupOrchestrator();
+
+        //Shared results of phases (dependencies guarantee visibility).
+        final Path[] resourcePath = new Path[1];
+        final List<Path> textureFiles = new ArrayList<>();
+        final long[] manifestHash = new long[1];
+
+        startup.phase("homeDir", () -> KailexApp.HOME_DIR = getHomeDir());
+        startup.phase("settings", () -> KailexApp.GAME_SETTINGS = KailexApp.loadSettings(KailexApp.HOME_DIR), "homeDir");
+        startup.phase("fxToolkit", KailexApp.STARTED);
+
+        startup.phase("pack", () -> {
             //Loads active resourcepack, but not forced to improve performance.
-            final CountDownLatch readyLatch = ResourcepackManager.applyPack(KailexApp.HOME_DIR
+            //Rethrows failure of pack thread, so pack phase fails and dependent phases are skipped.
+            ResourcepackManager.await(ResourcepackManager.applyPack(KailexApp.HOME_DIR
                     .resolve("resourcepack")
-                    .resolve(KailexApp.GAME_SETTINGS.getActiveResourcepack()), false);
-
-            //Waits until loading is ready and loads next scene.
-            final Thread waiting = new Thread(() -> {
-                try {
-                    readyLatch.await();
-                    Thread.sleep(2000);
-                    ResourcepackManager.showProgress("Starting Game", -1);
-                    //TODO: Load next scene
-                }
-                catch (InterruptedException e) {
-                    throw new RuntimeException("Cannot apply Pack.");
-                }
-            });
-            waiting.start();
-        }
-        catch (Exception e) {
-            LOGGER.log(Level.SEVERE, e.getMessage(), e);
-            LoggerUtil.showError("Cannot load resourcepack. Application will be closed.");
-            return;
-        }
+                    .resolve(KailexApp.GAME_SETTINGS.getActiveResourcepack()), false), "apply pack");
+            resourcePath[0] = ResourcepackManager.validate("resource", false);
+            ResourcepackManager.showProgress("Loading textures", -1);
+        }, "settings");
 
-        KailexApp.main(args);
+        startup.phase("assetIndex", () -> textureFiles.addAll(TextureManager.listTextures(resourcePath[0].resolve(TextureManager.TEXTURES_PATH))), "pack");
+        startup.phase("manifest", () -> manifestHash[0] = TextureCache.manifestHash(resourcePath[0].resolve(TextureManager.TEXTURES_PATH), textureFiles), "assetIndex");
+        startup.phase("textures", () -> TextureManager.loadTextures(resourcePath[0], KailexApp.HOME_DIR.resolve(TextureManager.CACHE_FILE),
+                textureFiles, manifestHash[0]), "manifest");
+        startup.phase("models", () -> ModelManager.loadModels(resourcePath[0], KailexApp.HOME_DIR.resolve(ModelManager.CACHE_FILE)), "pack");
+        startup.phase("language", () -> LanguageManager.loadLanguage(resourcePath[0], KailexApp.GAME_SETTINGS.getLanguage()), "pack");
+        startup.phase("sounds", () -> SoundManager.loadSounds(resourcePath[0]), "pack");
+
+        startup.phase("assets", () -> {
+            ResourcepackManager.finishAssets();
+            ResourcepackManager.showProgress("Starting Game", -1);
+            //TODO: Load next scene
+        }, "textures", "models", "language", "sounds");
+
+        return startup;
     }
 
     /**
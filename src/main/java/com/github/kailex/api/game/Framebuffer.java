@@ -0,0 +1,67 @@
+package com.github.kailex.api.game;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import lombok.Getter;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * This class is a software framebuffer. Pixels (premultiplied ARGB) are shared with a JavaFx image through a PixelBuffer,
+ * so written pixels are shown without copying them into the image.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class Framebuffer {
+
+    @Getter private final int width;
+    @Getter private final int height;
+
+    /**
+     * Premultiplied ARGB pixels in row major order.
+     */
+    @Getter private final int[] pixels;
+
+    private final PixelBuffer<IntBuffer> pixelBuffer;
+
+    /**
+     * Image which shows pixels (e.g. in an ImageView).
+     */
+    @Getter private final WritableImage image;
+
+    public Framebuffer(int width, int height) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException(width + "x" + height + " is not a valid size.");
+
+        this.width = width;
+        this.height = height;
+        this.pixels = new int[Math.multiplyExact(width, height)];
+        this.pixelBuffer = new PixelBuffer<>(width, height, IntBuffer.wrap(pixels), PixelFormat.getIntArgbPreInstance());
+        this.image = new WritableImage(pixelBuffer);
+    }
+
+    /**
+     * Fills all pixels with color.
+     * @param argb premultiplied ARGB color.
+     */
+    public void clear(int argb){
+        Arrays.fill(pixels, argb);
+    }
+
+    /**
+     * Shows written pixels. Must be called on JavaFx application thread.
+     */
+    public void update(){
+        pixelBuffer.updateBuffer(buffer -> null);
+    }
+
+    /**
+     * Shows written pixels of region. Must be called on JavaFx application thread.
+     */
+    public void update(Rectangle2D dirty){
+        pixelBuffer.updateBuffer(buffer -> dirty);
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.kailex.api.game;
+
+import com.github.kailex.api.util.Histogram;
+import com.github.kailex.api.util.LoggerUtil;
+import javafx.animation.AnimationTimer;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is the game loop. Simulation runs with a fixed tick rate, rendering runs once per JavaFx pulse.
+ * Both run on the JavaFx application thread (driven by an AnimationTimer), so they are in sync with pulses.
+ * After a stall missed ticks are caught up, but at most maxCatchUpTicks per frame (remaining time is dropped).
+ * Renderer gets the progress between last and next tick (alpha), so it can interpolate between the last two simulation states.
+ * If an InputBuffer is set, its events are applied before every tick. Input is only queued while loop is running.
+ *
+ * @author Alexander Ley
+ * @version 1.2
+ */
+public class GameLoop {
+    public static final Logger LOGGER = LoggerUtil.getLogger("GameLoop");
+
+    public static final int DEFAULT_TPS = 20;
+    public static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+
+    /**
+     * Advances simulation state by one tick.
+     */
+    public interface Simulation {
+        void tick();
+    }
+
+    /**
+     * Draws simulation state.
+     */
+    public interface Renderer {
+        /**
+         * @param alpha progress between last tick (0) and next tick (1). Draw lerp(previous state, current state, alpha).
+         */
+        void render(double alpha);
+    }
+
+    private final Simulation simulation;
+    private final Renderer renderer;
+
+    /**
+     * Input which is handed to simulation tick by tick (optional).
+     */
+    @Getter private @Nullable InputBuffer input;
+
+    @Getter private final int tps;
+    @Getter private final long tickNanos;
+    @Getter private final int maxCatchUpTicks;
+
+    /**
+     * Durations between two frames and durations of simulation ticks (buckets of 0.25 ms up to 100 ms).
+     */
+    @Getter private final Histogram frameTimes = new Histogram(250_000, 400);
+    @Getter private final Histogram tickTimes = new Histogram(250_000, 400);
+
+    @Getter private long ticks;
+    @Getter private long frames;
+
+    /**
+     * Ticks which were dropped, because catch up limit was reached.
+     */
+    @Getter private long droppedTicks;
+
+    private long lastFrame = -1;
+    private long accumulator = 0;
+    @Getter private boolean running = false;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            frame(now);
+        }
+    };
+
+    public GameLoop(Simulation simulation, Renderer renderer) {
+        this(simulation, renderer, DEFAULT_TPS, DEFAULT_MAX_CATCH_UP_TICKS);
+    }
+
+    /**
+     * @param tps simulation ticks per second.
+     * @param maxCatchUpTicks maximum amount of ticks per frame.
+     */
+    public GameLoop(Simulation simulation, Renderer renderer, int tps, int maxCatchUpTicks) {
+        if (tps <= 0) throw new IllegalArgumentException(tps + " is not a valid tick rate.");
+        if (maxCatchUpTicks <= 0) throw new IllegalArgumentException(maxCatchUpTicks + " is not a valid amount of catch up ticks.");
+
+        this.simulation = simulation;
+        this.renderer = renderer;
+        this.tps = tps;
+        this.tickNanos = 1_000_000_000L / tps;
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
+
+    /**
+     * Starts loop. Must be called on JavaFx application thread.
+     */
+    public void start(){
+        if (running) return;
+
+        running = true;
+        lastFrame = -1;
+        accumulator = 0;
+        if (input != null) input.startConsuming();
+        timer.start();
+    }
+
+    /**
+     * Stops loop after current frame. Must be called on JavaFx application thread.
+     */
+    public void stop(){
+        running = false;
+        timer.stop();
+        if (input != null) input.stopConsuming();
+    }
+
+    /**
+     * Sets input which is handed to simulation. Events which were queued before are discarded.
+     * Must be called on JavaFx application thread.
+     */
+    public void setInput(@Nullable InputBuffer input){
+        if (this.input != null) this.input.stopConsuming();
+
+        this.input = input;
+        if (input != null && running) input.startConsuming();
+    }
+
+    /**
+     * Runs due ticks and renders one frame.
+     * @param now timestamp of pulse in nanoseconds.
+     */
+    private void frame(long now){
+        if (lastFrame < 0) lastFrame = now;
+
+        final long elapsed = now - lastFrame;
+        lastFrame = now;
+        if (frames > 0) frameTimes.record(elapsed);
+        frames++;
+
+        accumulator += elapsed;
+
+        int caughtUp = 0;
+        while (accumulator >= tickNanos && caughtUp < maxCatchUpTicks) {
+            final long start = System.nanoTime();
+            if (input != null) input.nextTick();
+            simulation.tick();
+            tickTimes.record(System.nanoTime() - start);
+
+            accumulator -= tickNanos;
+            ticks++;
+            caughtUp++;
+        }
+
+        //Loop cannot catch up, so remaining time is dropped instead of running ever more ticks per frame.
+        if (accumulator >= tickNanos) {
+            final long dropped = accumulator / tickNanos;
+            droppedTicks += dropped;
+            accumulator -= dropped * tickNanos;
+            LOGGER.log(Level.FINE, "Game loop dropped " + dropped + " ticks.");
+        }
+
+        renderer.render(accumulator / (double) tickNanos);
+    }
+
+    /**
+     * Linear interpolation between two simulation values.
+     */
+    public static double lerp(double previous, double current, double alpha){
+        return previous + (current - previous) * alpha;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GameLoop[%d TPS, ticks=%d, frames=%d, dropped=%d]%n  frames: %s%n  ticks:  %s",
+                tps, ticks, frames, droppedTicks, frameTimes, tickTimes);
+    }
+}
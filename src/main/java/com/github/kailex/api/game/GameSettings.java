@@ -1,5 +1,6 @@
 package com.github.kailex.api.game;
 
+import com.github.kailex.api.resourcepack.LanguageManager;
 import com.github.kailex.api.resourcepack.ResourcepackManager;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,13 +15,18 @@ import java.util.stream.Collectors;
  * This class stores all relevant game settings.
  *
  * @author Alexander Ley
- * @version 1.0
+ * @version 1.1
  */
 @Setter @Getter
 public class GameSettings {
 
     private String activeResourcepack;
 
+    /**
+     * Active locale (e.g. en_us).
+     */
+    private String language = LanguageManager.DEFAULT_LOCALE;
+
     /**
      * List of all Resourcepacks in resourcepack folder.
      */
@@ -31,6 +37,13 @@ public class GameSettings {
         refreshAvailableResourcepacks();
     }
 
+    /**
+     * @return Returns active locale (en_us if settings were saved before language was added).
+     */
+    public String getLanguage() {
+        return (language == null) ? LanguageManager.DEFAULT_LOCALE : language;
+    }
+
     /**
      * Refresh list of available resourcepacks.
      * @throws IOException if an I/O error occurs when opening the directory
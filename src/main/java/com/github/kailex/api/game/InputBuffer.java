@@ -0,0 +1,391 @@
+package com.github.kailex.api.game;
+
+import com.github.kailex.api.util.LoggerUtil;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class captures JavaFx mouse and key events of a scene and hands them to the simulation once per tick.
+ * Events are written into a lock-free ring buffer (one producer, the JavaFx application thread, and one consumer,
+ * the game loop). Mouse moves are not queued, only the latest position is kept.
+ * nextTick() applies queued events to the tick state (keys and buttons which are down, pressed or released this tick).
+ * Which keys and buttons are down is tracked by the producer itself, so a dropped event (full buffer) never leaves
+ * a key or button down. Events are only queued while a consumer is attached (see startConsuming()),
+ * so no stale input is replayed when a game loop starts. Nothing is allocated per event.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class InputBuffer {
+    public static final Logger LOGGER = LoggerUtil.getLogger("InputBuffer");
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    public static final int KEY_PRESSED = 0;
+    public static final int KEY_RELEASED = 1;
+    public static final int BUTTON_PRESSED = 2;
+    public static final int BUTTON_RELEASED = 3;
+    public static final int SCROLLED = 4;
+
+    /**
+     * Receives queued events in order while nextTick() runs.
+     */
+    public interface Listener {
+        /**
+         * @param type e.g. KEY_PRESSED.
+         * @param code ordinal of KeyCode or MouseButton (0 for SCROLLED).
+         * @param x scene x of mouse (scroll delta x for SCROLLED).
+         * @param y scene y of mouse (scroll delta y for SCROLLED).
+         */
+        void onInput(int type, int code, double x, double y);
+    }
+
+    private static final KeyCode[] KEY_CODES = KeyCode.values();
+    private static final MouseButton[] BUTTONS = MouseButton.values();
+
+    /**
+     * Ring buffer of queued events (type << 16 | code and position).
+     */
+    private final int[] events;
+    private final double[] xs;
+    private final double[] ys;
+    private final int mask;
+
+    /**
+     * Next slot to write (only written by producer) and next slot to read (only written by consumer).
+     */
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    @Getter private volatile long droppedEvents;
+
+    /**
+     * True while a consumer calls nextTick() (see startConsuming()).
+     */
+    @Getter private volatile boolean consuming;
+
+    /**
+     * Keys and buttons which are down (only written by producer).
+     */
+    private final AtomicLongArray liveKeysDown = new AtomicLongArray((KEY_CODES.length + 63) / 64);
+    private volatile int liveButtonsDown;
+
+    /**
+     * Latest mouse position in scene coordinates (written by producer).
+     */
+    private volatile double latestMouseX;
+    private volatile double latestMouseY;
+
+    /**
+     * Tick state (only accessed by consumer).
+     */
+    private final long[] keysDown = new long[(KEY_CODES.length + 63) / 64];
+    private final long[] keysPressed = new long[keysDown.length];
+    private final long[] keysReleased = new long[keysDown.length];
+    private int buttonsDown;
+    private int buttonsPressed;
+    private int buttonsReleased;
+    @Getter private double mouseX;
+    @Getter private double mouseY;
+    @Getter private double scrollX;
+    @Getter private double scrollY;
+
+    private @Nullable Listener listener;
+    private @Nullable Scene scene;
+
+    private final EventHandler<MouseEvent> mouseHandler = this::onMouse;
+    private final EventHandler<ScrollEvent> scrollHandler = this::onScroll;
+    private final EventHandler<KeyEvent> keyHandler = this::onKey;
+
+    public InputBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum amount of queued events between two ticks (rounded up to a power of two).
+     */
+    public InputBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 20)) throw new IllegalArgumentException(capacity + " is not a valid capacity.");
+
+        final int size = Integer.highestOneBit(capacity * 2 - 1);
+        this.events = new int[size];
+        this.xs = new double[size];
+        this.ys = new double[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Captures events of scene (replaces previous scene). Must be called on JavaFx application thread.
+     */
+    public void attach(Scene scene){
+        detach();
+
+        scene.addEventFilter(MouseEvent.ANY, mouseHandler);
+        scene.addEventFilter(ScrollEvent.SCROLL, scrollHandler);
+        scene.addEventFilter(KeyEvent.ANY, keyHandler);
+        this.scene = scene;
+    }
+
+    /**
+     * Stops capturing events. Must be called on JavaFx application thread.
+     */
+    public void detach(){
+        if (scene == null) return;
+
+        scene.removeEventFilter(MouseEvent.ANY, mouseHandler);
+        scene.removeEventFilter(ScrollEvent.SCROLL, scrollHandler);
+        scene.removeEventFilter(KeyEvent.ANY, keyHandler);
+        scene = null;
+    }
+
+    public void setListener(@Nullable Listener listener){
+        this.listener = listener;
+    }
+
+    private void onMouse(MouseEvent event){
+        latestMouseX = event.getSceneX();
+        latestMouseY = event.getSceneY();
+
+        if (event.getEventType() == MouseEvent.MOUSE_PRESSED) {
+            offer(BUTTON_PRESSED, event.getButton().ordinal(), event.getSceneX(), event.getSceneY());
+        }
+        else if (event.getEventType() == MouseEvent.MOUSE_RELEASED) {
+            offer(BUTTON_RELEASED, event.getButton().ordinal(), event.getSceneX(), event.getSceneY());
+        }
+    }
+
+    private void onScroll(ScrollEvent event){
+        offer(SCROLLED, 0, event.getDeltaX(), event.getDeltaY());
+    }
+
+    private void onKey(KeyEvent event){
+        if (event.getEventType() == KeyEvent.KEY_PRESSED) {
+            offer(KEY_PRESSED, event.getCode().ordinal(), latestMouseX, latestMouseY);
+        }
+        else if (event.getEventType() == KeyEvent.KEY_RELEASED) {
+            offer(KEY_RELEASED, event.getCode().ordinal(), latestMouseX, latestMouseY);
+        }
+    }
+
+    /**
+     * Queues an event. Event is dropped if buffer is full or no consumer is attached,
+     * but keys and buttons which are down are updated in any case.
+     * Must be called by the producer thread.
+     * @return Returns false if event was not queued.
+     */
+    public boolean offer(int type, int code, double x, double y){
+        updateDown(type, code);
+        if (!consuming) return false;
+
+        final long h = head.get();
+        if (h - tail.get() > mask) {
+            droppedEvents++;
+            LOGGER.log(Level.FINE, "Input buffer is full, event was dropped.");
+            return false;
+        }
+
+        final int slot = (int) (h & mask);
+        events[slot] = type << 16 | code;
+        xs[slot] = x;
+        ys[slot] = y;
+        head.lazySet(h + 1);
+        return true;
+    }
+
+    private void updateDown(int type, int code){
+        final int word = code >>> 6;
+        final long bit = 1L << (code & 63);
+
+        switch (type) {
+            case KEY_PRESSED:
+                liveKeysDown.lazySet(word, liveKeysDown.get(word) | bit);
+                break;
+            case KEY_RELEASED:
+                liveKeysDown.lazySet(word, liveKeysDown.get(word) & ~bit);
+                break;
+            case BUTTON_PRESSED:
+                liveButtonsDown |= 1 << code;
+                break;
+            case BUTTON_RELEASED:
+                liveButtonsDown &= ~(1 << code);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Attaches a consumer: discards events which were queued before and starts queueing events.
+     * Must be called by the consumer (e.g. when game loop starts).
+     */
+    public void startConsuming(){
+        discard();
+        consuming = true;
+    }
+
+    /**
+     * Detaches consumer: stops queueing events and discards queued events. Must be called by the consumer.
+     */
+    public void stopConsuming(){
+        consuming = false;
+        discard();
+    }
+
+    private void discard(){
+        tail.lazySet(head.get());
+    }
+
+    /**
+     * Sets mouse position (e.g. for synthetic input). Must be called by the producer thread.
+     */
+    public void moveMouse(double sceneX, double sceneY){
+        latestMouseX = sceneX;
+        latestMouseY = sceneY;
+    }
+
+    /**
+     * Starts next tick: applies all queued events to tick state and hands them to listener.
+     * Must be called by the consumer (e.g. before Simulation.tick()).
+     */
+    public void nextTick(){
+        for (int i = 0; i < keysDown.length; i++){
+            keysPressed[i] = 0;
+            keysReleased[i] = 0;
+        }
+        buttonsPressed = 0;
+        buttonsReleased = 0;
+        scrollX = 0;
+        scrollY = 0;
+
+        final long h = head.get();
+        long t = tail.get();
+
+        for (; t < h; t++){
+            final int slot = (int) (t & mask);
+            final int type = events[slot] >>> 16;
+            final int code = events[slot] & 0xFFFF;
+            final double x = xs[slot];
+            final double y = ys[slot];
+
+            apply(type, code, x, y);
+            if (listener != null) listener.onInput(type, code, x, y);
+        }
+        tail.lazySet(t);
+
+        for (int i = 0; i < keysDown.length; i++) keysDown[i] = liveKeysDown.get(i);
+        buttonsDown = liveButtonsDown;
+        mouseX = latestMouseX;
+        mouseY = latestMouseY;
+    }
+
+    /**
+     * Applies event to pressed and released state of tick (down state is taken from producer).
+     */
+    private void apply(int type, int code, double x, double y){
+        final int word = code >>> 6;
+        final long bit = 1L << (code & 63);
+
+        switch (type) {
+            case KEY_PRESSED:
+                keysPressed[word] |= bit;
+                break;
+            case KEY_RELEASED:
+                keysReleased[word] |= bit;
+                break;
+            case BUTTON_PRESSED:
+                buttonsPressed |= 1 << code;
+                break;
+            case BUTTON_RELEASED:
+                buttonsReleased |= 1 << code;
+                break;
+            case SCROLLED:
+                scrollX += x;
+                scrollY += y;
+                break;
+            default:
+                throw new IllegalArgumentException(type + " is not a valid input type.");
+        }
+    }
+
+    /**
+     * @return Returns true if key is held down (state of current tick).
+     */
+    public boolean isKeyDown(KeyCode key){
+        return (keysDown[key.ordinal() >>> 6] & (1L << (key.ordinal() & 63))) != 0;
+    }
+
+    /**
+     * @return Returns true if key was pressed since last tick.
+     */
+    public boolean wasKeyPressed(KeyCode key){
+        return (keysPressed[key.ordinal() >>> 6] & (1L << (key.ordinal() & 63))) != 0;
+    }
+
+    /**
+     * @return Returns true if key was released since last tick.
+     */
+    public boolean wasKeyReleased(KeyCode key){
+        return (keysReleased[key.ordinal() >>> 6] & (1L << (key.ordinal() & 63))) != 0;
+    }
+
+    /**
+     * @return Returns true if mouse button is held down (state of current tick).
+     */
+    public boolean isButtonDown(MouseButton button){
+        return (buttonsDown & (1 << button.ordinal())) != 0;
+    }
+
+    /**
+     * @return Returns true if mouse button was pressed since last tick.
+     */
+    public boolean wasButtonPressed(MouseButton button){
+        return (buttonsPressed & (1 << button.ordinal())) != 0;
+    }
+
+    /**
+     * @return Returns true if mouse button was released since last tick.
+     */
+    public boolean wasButtonReleased(MouseButton button){
+        return (buttonsReleased & (1 << button.ordinal())) != 0;
+    }
+
+    /**
+     * @return Returns latest mouse x in scene coordinates (also between two ticks).
+     */
+    public double getLatestMouseX(){
+        return latestMouseX;
+    }
+
+    /**
+     * @return Returns latest mouse y in scene coordinates (also between two ticks).
+     */
+    public double getLatestMouseY(){
+        return latestMouseY;
+    }
+
+    /**
+     * @return Returns key of ordinal (see Listener).
+     */
+    public static KeyCode keyCode(int code){
+        return KEY_CODES[code];
+    }
+
+    /**
+     * @return Returns mouse button of ordinal (see Listener).
+     */
+    public static MouseButton mouseButton(int code){
+        return BUTTONS[code];
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.kailex.api.game;
+
+import com.github.kailex.api.resourcepack.TextureManager;
+import com.github.kailex.api.resourcepack.TextureRegistry;
+import com.github.kailex.api.util.image.TextureData;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * This class holds tiles as premultiplied ARGB pixels (the format of Framebuffer) by texture id.
+ * Textures are converted on first use. Textures which are larger than a tile (e.g. animation strips) are cropped
+ * to their top left tile, smaller ones are scaled with nearest neighbour sampling.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class TileAtlas {
+
+    @Getter private final int tileSize;
+
+    private int[][] tiles = new int[0][];
+    private boolean[] opaque = new boolean[0];
+
+    /**
+     * Marks ids which were already tried (also if texture does not exist).
+     */
+    private boolean[] loaded = new boolean[0];
+
+    /**
+     * @param tileSize width and height of a tile in pixels.
+     */
+    public TileAtlas(int tileSize) {
+        if (tileSize <= 0) throw new IllegalArgumentException(tileSize + " is not a valid tile size.");
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * @return Returns true if texture was already tried to convert (without locking).
+     */
+    public boolean isLoaded(int id){
+        final boolean[] current = loaded;
+        return id >= 0 && id < current.length && current[id];
+    }
+
+    /**
+     * Converts texture if it is not converted yet. Call this before tiles are read from several threads.
+     * @return Returns false if texture does not exist.
+     */
+    public synchronized boolean load(int id){
+        if (id < 0) return false;
+
+        if (id >= loaded.length) {
+            final int length = Math.max(id + 1, loaded.length * 2);
+            tiles = Arrays.copyOf(tiles, length);
+            opaque = Arrays.copyOf(opaque, length);
+            loaded = Arrays.copyOf(loaded, length);
+        }
+
+        if (!loaded[id]) {
+            loaded[id] = true;
+
+            final String key = TextureRegistry.getKey(id);
+            final TextureData texture = (key == null) ? null : TextureManager.getTexture(key);
+            if (texture != null) convert(id, texture);
+        }
+        return tiles[id] != null;
+    }
+
+    private void convert(int id, TextureData texture){
+        final int[] tile = new int[tileSize * tileSize];
+        final int size = Math.min(texture.getWidth(), texture.getHeight());
+        boolean isOpaque = true;
+
+        for (int y = 0; y < tileSize; y++){
+            for (int x = 0; x < tileSize; x++){
+                final int argb = (size >= tileSize) ? texture.getArgb(x, y) : texture.getArgb(x * size / tileSize, y * size / tileSize);
+                if ((argb >>> 24) != 0xFF) isOpaque = false;
+
+                tile[y * tileSize + x] = premultiply(argb);
+            }
+        }
+
+        tiles[id] = tile;
+        opaque[id] = isOpaque;
+    }
+
+    /**
+     * @return Returns premultiplied pixels of tile or null if texture is not loaded or does not exist.
+     */
+    public @Nullable int[] get(int id){
+        final int[][] current = tiles;
+        return (id < 0 || id >= current.length) ? null : current[id];
+    }
+
+    /**
+     * @return Returns true if every pixel of tile is opaque (tile can be copied without blending).
+     */
+    public boolean isOpaque(int id){
+        final boolean[] current = opaque;
+        return id >= 0 && id < current.length && current[id];
+    }
+
+    /**
+     * Releases all converted tiles (e.g. if resourcepack changes).
+     */
+    public synchronized void clear(){
+        tiles = new int[0][];
+        opaque = new boolean[0];
+        loaded = new boolean[0];
+    }
+
+    public static int premultiply(int argb){
+        final int a = argb >>> 24;
+        if (a == 0xFF) return argb;
+        if (a == 0) return 0;
+
+        final int r = (((argb >>> 16) & 0xFF) * a + 127) / 255;
+        final int g = (((argb >>> 8) & 0xFF) * a + 127) / 255;
+        final int b = ((argb & 0xFF) * a + 127) / 255;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+}
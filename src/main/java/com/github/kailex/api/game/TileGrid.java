@@ -0,0 +1,141 @@
+package com.github.kailex.api.game;
+
+import com.github.kailex.api.resourcepack.ImageManager;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * This class stores a 2D tile world as texture ids (see TextureRegistry) in one array.
+ * A tile can additionally have a layer stack (ImageManager), which is drawn above its texture.
+ * Changed tiles are recorded, so renderers only have to redraw them (see drainDirty(...)).
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class TileGrid {
+
+    /**
+     * Marks a tile without texture.
+     */
+    public static final int EMPTY = -1;
+
+    @Getter private final int width;
+    @Getter private final int height;
+
+    /**
+     * Texture ids in row major order.
+     */
+    private final int[] tiles;
+
+    /**
+     * Layer stacks in row major order (null until first stack is set).
+     */
+    private @Nullable ImageManager[] stacks;
+
+    /**
+     * Changed tiles (index in row major order), which were not drained yet.
+     */
+    private final BitSet dirtyTiles = new BitSet();
+    private int[] dirtyList = new int[64];
+    private int dirtyCount = 0;
+
+    public TileGrid(int width, int height) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException(width + "x" + height + " is not a valid size.");
+
+        this.width = width;
+        this.height = height;
+        this.tiles = new int[Math.multiplyExact(width, height)];
+        Arrays.fill(tiles, EMPTY);
+    }
+
+    /**
+     * @return Returns texture id of tile or EMPTY if tile is empty or outside of grid.
+     */
+    public int getTile(int x, int y){
+        if (x < 0 || y < 0 || x >= width || y >= height) return EMPTY;
+        return tiles[y * width + x];
+    }
+
+    /**
+     * @param id texture id or EMPTY.
+     * @throws IllegalArgumentException if tile is outside of grid.
+     */
+    public void setTile(int x, int y, int id){
+        checkBounds(x, y);
+
+        final int index = y * width + x;
+        if (tiles[index] == id) return;
+
+        tiles[index] = id;
+        markDirty(index);
+    }
+
+    /**
+     * @return Returns layer stack of tile or null if tile has no stack or is outside of grid.
+     */
+    public @Nullable ImageManager getStack(int x, int y){
+        if (stacks == null || x < 0 || y < 0 || x >= width || y >= height) return null;
+        return stacks[y * width + x];
+    }
+
+    /**
+     * Sets layer stack of tile. Later changes of stack mark tile as changed.
+     * A stack must only belong to one tile.
+     * @param stack layer stack or null to remove stack.
+     * @throws IllegalArgumentException if tile is outside of grid.
+     */
+    public void setStack(int x, int y, @Nullable ImageManager stack){
+        checkBounds(x, y);
+        if (stacks == null) {
+            if (stack == null) return;
+            stacks = new ImageManager[tiles.length];
+        }
+
+        final int index = y * width + x;
+        if (stacks[index] != null) stacks[index].setChangeListener(null);
+
+        stacks[index] = stack;
+        if (stack != null) stack.setChangeListener(() -> markDirty(index));
+        markDirty(index);
+    }
+
+    private void checkBounds(int x, int y){
+        if (x < 0 || y < 0 || x >= width || y >= height) throw new IllegalArgumentException(x + ", " + y + " is not in grid.");
+    }
+
+    /**
+     * Marks tile as changed.
+     * @throws IllegalArgumentException if tile is outside of grid.
+     */
+    public void markDirty(int x, int y){
+        checkBounds(x, y);
+        markDirty(y * width + x);
+    }
+
+    private synchronized void markDirty(int index){
+        if (dirtyTiles.get(index)) return;
+
+        dirtyTiles.set(index);
+        if (dirtyCount == dirtyList.length) dirtyList = Arrays.copyOf(dirtyList, dirtyCount * 2);
+        dirtyList[dirtyCount++] = index;
+    }
+
+    /**
+     * Hands all changed tiles to consumer and forgets them. Only one renderer should drain a grid.
+     * @param consumer receives index of every changed tile (y * width + x).
+     */
+    public synchronized void drainDirty(IntConsumer consumer){
+        for (int i = 0; i < dirtyCount; i++) consumer.accept(dirtyList[i]);
+
+        dirtyTiles.clear();
+        dirtyCount = 0;
+    }
+
+    public synchronized boolean hasDirtyTiles(){
+        return dirtyCount > 0;
+    }
+}
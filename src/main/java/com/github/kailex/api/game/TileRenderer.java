@@ -0,0 +1,117 @@
+package com.github.kailex.api.game;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * This class rasterizes the visible part of a tile grid into a Framebuffer.
+ * Opaque tile rows are copied with System.arraycopy, transparent tiles are blended over the clear color.
+ * The framebuffer is split into bands of rows, which are rendered in parallel.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class TileRenderer {
+
+    public static final int DEFAULT_BAND_HEIGHT = 32;
+
+    @Getter private final TileAtlas atlas;
+
+    /**
+     * Premultiplied ARGB color of empty tiles and behind transparent pixels.
+     */
+    @Getter @Setter private int clearColor = 0xFF000000;
+
+    @Getter @Setter private boolean parallel = true;
+    @Getter private int bandHeight = DEFAULT_BAND_HEIGHT;
+
+    public TileRenderer(TileAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    public void setBandHeight(int bandHeight){
+        if (bandHeight <= 0) throw new IllegalArgumentException(bandHeight + " is not a valid band height.");
+        this.bandHeight = bandHeight;
+    }
+
+    /**
+     * Renders visible part of grid. Call Framebuffer#update() afterwards on JavaFx application thread.
+     * @param cameraX world pixel which is shown at left border of framebuffer.
+     * @param cameraY world pixel which is shown at top border of framebuffer.
+     */
+    public void render(TileGrid grid, Framebuffer framebuffer, int cameraX, int cameraY){
+        final int tileSize = atlas.getTileSize();
+        final int firstX = Math.floorDiv(cameraX, tileSize);
+        final int lastX = Math.floorDiv(cameraX + framebuffer.getWidth() - 1, tileSize);
+        final int firstY = Math.floorDiv(cameraY, tileSize);
+        final int lastY = Math.floorDiv(cameraY + framebuffer.getHeight() - 1, tileSize);
+
+        //Tiles are converted before bands read them in parallel.
+        for (int ty = firstY; ty <= lastY; ty++){
+            for (int tx = firstX; tx <= lastX; tx++){
+                final int id = grid.getTile(tx, ty);
+                if (id >= 0 && !atlas.isLoaded(id)) atlas.load(id);
+            }
+        }
+
+        final int bands = (framebuffer.getHeight() + bandHeight - 1) / bandHeight;
+        final IntStream stream = IntStream.range(0, bands);
+        (parallel ? stream.parallel() : stream).forEach(band ->
+                renderRows(grid, framebuffer, cameraX, cameraY, band * bandHeight, Math.min(framebuffer.getHeight(), (band + 1) * bandHeight)));
+    }
+
+    /**
+     * Renders framebuffer rows from (inclusive) to (exclusive).
+     */
+    private void renderRows(TileGrid grid, Framebuffer framebuffer, int cameraX, int cameraY, int from, int to){
+        final int tileSize = atlas.getTileSize();
+        final int width = framebuffer.getWidth();
+        final int[] dst = framebuffer.getPixels();
+
+        for (int py = from; py < to; py++){
+            final int worldY = cameraY + py;
+            final int ty = Math.floorDiv(worldY, tileSize);
+            final int tileRow = Math.floorMod(worldY, tileSize) * tileSize;
+            final int rowStart = py * width;
+
+            for (int tx = Math.floorDiv(cameraX, tileSize); tx * tileSize - cameraX < width; tx++){
+                final int spanStart = Math.max(0, tx * tileSize - cameraX);
+                final int spanEnd = Math.min(width, (tx + 1) * tileSize - cameraX);
+                final int srcStart = tileRow + spanStart + cameraX - tx * tileSize;
+                final int length = spanEnd - spanStart;
+
+                final int id = grid.getTile(tx, ty);
+                final int[] tile = atlas.get(id);
+
+                if (tile == null) {
+                    Arrays.fill(dst, rowStart + spanStart, rowStart + spanEnd, clearColor);
+                }
+                else if (atlas.isOpaque(id)) {
+                    System.arraycopy(tile, srcStart, dst, rowStart + spanStart, length);
+                }
+                else {
+                    for (int i = 0; i < length; i++) dst[rowStart + spanStart + i] = blend(tile[srcStart + i], clearColor);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Returns src over dst (both premultiplied).
+     */
+    static int blend(int src, int dst){
+        final int a = src >>> 24;
+        if (a == 0xFF) return src;
+        if (a == 0) return dst;
+
+        final int inverse = 255 - a;
+        final int ra = a + (((dst >>> 24) * inverse + 127) / 255);
+        final int r = ((src >>> 16) & 0xFF) + ((((dst >>> 16) & 0xFF) * inverse + 127) / 255);
+        final int g = ((src >>> 8) & 0xFF) + ((((dst >>> 8) & 0xFF) * inverse + 127) / 255);
+        final int b = (src & 0xFF) + (((dst & 0xFF) * inverse + 127) / 255);
+        return (ra << 24) | (r << 16) | (g << 8) | b;
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.kailex.api.game;
+
+import com.github.kailex.api.util.Cord;
+import lombok.Getter;
+
+/**
+ * This class maps screen coordinates to world pixels and tiles of a tile grid and back.
+ * Mapping is arithmetic (no scene graph lookup), so hit testing costs the same for every grid size
+ * and does not allocate anything.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class Viewport {
+
+    @Getter private final int tileSize;
+
+    /**
+     * Screen position of top left corner of viewport (e.g. layout position of the framebuffer image).
+     */
+    @Getter private double originX;
+    @Getter private double originY;
+
+    /**
+     * World pixel which is shown at top left corner of viewport.
+     */
+    @Getter private int cameraX;
+    @Getter private int cameraY;
+
+    /**
+     * Screen pixels per world pixel.
+     */
+    @Getter private double scale = 1;
+
+    @Getter private int width;
+    @Getter private int height;
+
+    /**
+     * @param width width of viewport in world pixels.
+     * @param height height of viewport in world pixels.
+     */
+    public Viewport(int tileSize, int width, int height) {
+        if (tileSize <= 0) throw new IllegalArgumentException(tileSize + " is not a valid tile size.");
+
+        this.tileSize = tileSize;
+        setSize(width, height);
+    }
+
+    public void setOrigin(double originX, double originY){
+        this.originX = originX;
+        this.originY = originY;
+    }
+
+    public void setCamera(int cameraX, int cameraY){
+        this.cameraX = cameraX;
+        this.cameraY = cameraY;
+    }
+
+    public void setScale(double scale){
+        if (!(scale > 0) || Double.isInfinite(scale)) throw new IllegalArgumentException(scale + " is not a valid scale.");
+        this.scale = scale;
+    }
+
+    /**
+     * @param width width of viewport in world pixels.
+     * @param height height of viewport in world pixels.
+     */
+    public void setSize(int width, int height){
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException(width + "x" + height + " is not a valid size.");
+
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return Returns true if screen position is inside of viewport.
+     */
+    public boolean contains(double screenX, double screenY){
+        final double x = (screenX - originX) / scale;
+        final double y = (screenY - originY) / scale;
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * @return Returns world pixel (x) under screen position.
+     */
+    public int toWorldX(double screenX){
+        return (int) Math.floor((screenX - originX) / scale) + cameraX;
+    }
+
+    /**
+     * @return Returns world pixel (y) under screen position.
+     */
+    public int toWorldY(double screenY){
+        return (int) Math.floor((screenY - originY) / scale) + cameraY;
+    }
+
+    /**
+     * @return Returns tile column under screen position (also outside of grid).
+     */
+    public int toTileX(double screenX){
+        return Math.floorDiv(toWorldX(screenX), tileSize);
+    }
+
+    /**
+     * @return Returns tile row under screen position (also outside of grid).
+     */
+    public int toTileY(double screenY){
+        return Math.floorDiv(toWorldY(screenY), tileSize);
+    }
+
+    /**
+     * @return Returns tile under screen position as packed coordinate (see Cord).
+     */
+    public long toTile(double screenX, double screenY){
+        return Cord.pack(toTileX(screenX), toTileY(screenY));
+    }
+
+    /**
+     * @return Returns tile of grid under screen position as packed coordinate (see Cord)
+     * or Cord.NONE if position is outside of viewport or grid.
+     */
+    public long pick(TileGrid grid, double screenX, double screenY){
+        if (!contains(screenX, screenY)) return Cord.NONE;
+
+        final int x = toTileX(screenX);
+        final int y = toTileY(screenY);
+        if (x < 0 || y < 0 || x >= grid.getWidth() || y >= grid.getHeight()) return Cord.NONE;
+
+        return Cord.pack(x, y);
+    }
+
+    /**
+     * @return Returns screen x of left border of tile column.
+     */
+    public double toScreenX(int tileX){
+        return originX + ((double) tileX * tileSize - cameraX) * scale;
+    }
+
+    /**
+     * @return Returns screen y of top border of tile row.
+     */
+    public double toScreenY(int tileY){
+        return originY + ((double) tileY * tileSize - cameraY) * scale;
+    }
+}
@@ -0,0 +1,278 @@
+package com.github.kailex.api.game;
+
+import com.github.kailex.api.resourcepack.ImageManager;
+import com.github.kailex.api.util.Rotation;
+import javafx.geometry.Rectangle2D;
+import lombok.Getter;
+import lombok.Setter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class renders a tile grid into a Framebuffer with a bitmap cache per chunk.
+ * Every chunk (chunkTiles x chunkTiles tiles with all their layers) is composed once into a bitmap.
+ * Changed tiles (see TileGrid#drainDirty(...)) are recomposed in their chunk and only their rectangle is copied into
+ * the framebuffer. If camera moves, visible parts of the cached chunk bitmaps are copied by offset.
+ * A frame without changes and without camera movement costs no pixel work.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class WorldRenderer {
+
+    public static final int DEFAULT_CHUNK_TILES = 16;
+    public static final int DEFAULT_MAX_CHUNKS = 256;
+
+    @Getter private final TileAtlas atlas;
+    @Getter private final int chunkTiles;
+    private final int chunkPixels;
+    @Getter private final int maxChunks;
+
+    /**
+     * Premultiplied ARGB color of empty tiles and behind transparent pixels.
+     */
+    @Getter private int clearColor = 0xFF000000;
+
+    /**
+     * Composed chunk bitmaps by packed chunk coordinates in access order (eldest first).
+     */
+    private final LinkedHashMap<Long, int[]> chunks;
+
+    private @Nullable TileGrid lastGrid;
+    private @Nullable Framebuffer lastFramebuffer;
+    private int lastCameraX;
+    private int lastCameraY;
+
+    /**
+     * Marks if framebuffer has to be redrawn completely on next frame.
+     */
+    private boolean invalid = true;
+
+    @Getter private long composedChunks;
+    @Getter private long composedTiles;
+    @Getter private long fullFrames;
+    @Getter private long partialFrames;
+    @Getter private long idleFrames;
+
+    @Setter private boolean countStats = true;
+
+    public WorldRenderer(TileAtlas atlas) {
+        this(atlas, DEFAULT_CHUNK_TILES, DEFAULT_MAX_CHUNKS);
+    }
+
+    /**
+     * @param chunkTiles width and height of a chunk in tiles.
+     * @param maxChunks maximum amount of cached chunk bitmaps.
+     */
+    public WorldRenderer(TileAtlas atlas, int chunkTiles, int maxChunks) {
+        if (chunkTiles <= 0) throw new IllegalArgumentException(chunkTiles + " is not a valid chunk size.");
+        if (maxChunks <= 0) throw new IllegalArgumentException(maxChunks + " is not a valid amount of chunks.");
+
+        this.atlas = atlas;
+        this.chunkTiles = chunkTiles;
+        this.chunkPixels = chunkTiles * atlas.getTileSize();
+        this.maxChunks = maxChunks;
+        this.chunks = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                return size() > WorldRenderer.this.maxChunks;
+            }
+        };
+    }
+
+    /**
+     * Sets clear color and invalidates all chunks.
+     */
+    public void setClearColor(int clearColor){
+        this.clearColor = clearColor;
+        invalidate();
+    }
+
+    /**
+     * Releases all chunk bitmaps (e.g. if resourcepack changes). Next frame is redrawn completely.
+     */
+    public void invalidate(){
+        chunks.clear();
+        invalid = true;
+    }
+
+    /**
+     * Renders visible part of grid. Call Framebuffer#update(...) with returned rectangle afterwards on JavaFx application thread.
+     * @param cameraX world pixel which is shown at left border of framebuffer.
+     * @param cameraY world pixel which is shown at top border of framebuffer.
+     * @return Returns changed rectangle of framebuffer or null if nothing changed.
+     */
+    public @Nullable Rectangle2D render(TileGrid grid, Framebuffer framebuffer, int cameraX, int cameraY){
+        if (grid != lastGrid) {
+            chunks.clear();
+            invalid = true;
+        }
+        if (framebuffer != lastFramebuffer) invalid = true;
+
+        final int tileSize = atlas.getTileSize();
+        final int width = framebuffer.getWidth();
+        final int height = framebuffer.getHeight();
+
+        //Damaged world rectangle of changed tiles.
+        final int[] damage = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+
+        grid.drainDirty(index -> {
+            final int tx = index % grid.getWidth();
+            final int ty = index / grid.getWidth();
+
+            final int[] chunk = chunks.get(chunkKey(Math.floorDiv(tx, chunkTiles), Math.floorDiv(ty, chunkTiles)));
+            if (chunk != null) composeTile(grid, tx, ty, chunk, Math.floorMod(tx, chunkTiles), Math.floorMod(ty, chunkTiles));
+
+            damage[0] = Math.min(damage[0], tx * tileSize);
+            damage[1] = Math.min(damage[1], ty * tileSize);
+            damage[2] = Math.max(damage[2], (tx + 1) * tileSize);
+            damage[3] = Math.max(damage[3], (ty + 1) * tileSize);
+        });
+
+        final boolean moved = cameraX != lastCameraX || cameraY != lastCameraY;
+        lastGrid = grid;
+        lastFramebuffer = framebuffer;
+        lastCameraX = cameraX;
+        lastCameraY = cameraY;
+
+        if (invalid || moved) {
+            invalid = false;
+            blit(grid, framebuffer, cameraX, cameraY, 0, 0, width, height);
+            if (countStats) fullFrames++;
+            return new Rectangle2D(0, 0, width, height);
+        }
+
+        //Damaged rectangle in framebuffer coordinates.
+        final int x0 = Math.max(0, damage[0] - cameraX);
+        final int y0 = Math.max(0, damage[1] - cameraY);
+        final int x1 = Math.min(width, damage[2] - cameraX);
+        final int y1 = Math.min(height, damage[3] - cameraY);
+
+        if (x0 >= x1 || y0 >= y1) {
+            if (countStats) idleFrames++;
+            return null;
+        }
+
+        blit(grid, framebuffer, cameraX, cameraY, x0, y0, x1, y1);
+        if (countStats) partialFrames++;
+        return new Rectangle2D(x0, y0, x1 - x0, y1 - y0);
+    }
+
+    /**
+     * Copies framebuffer rectangle (x0, y0 inclusive, x1, y1 exclusive) from chunk bitmaps. Missing chunks are composed.
+     */
+    private void blit(TileGrid grid, Framebuffer framebuffer, int cameraX, int cameraY, int x0, int y0, int x1, int y1){
+        final int width = framebuffer.getWidth();
+        final int[] dst = framebuffer.getPixels();
+
+        for (int py = y0; py < y1; ) {
+            final int worldY = cameraY + py;
+            final int cy = Math.floorDiv(worldY, chunkPixels);
+            final int rowInChunk = Math.floorMod(worldY, chunkPixels);
+            final int rows = Math.min(y1 - py, chunkPixels - rowInChunk);
+
+            for (int px = x0; px < x1; ) {
+                final int worldX = cameraX + px;
+                final int cx = Math.floorDiv(worldX, chunkPixels);
+                final int colInChunk = Math.floorMod(worldX, chunkPixels);
+                final int length = Math.min(x1 - px, chunkPixels - colInChunk);
+
+                final int[] chunk = getChunk(grid, cx, cy);
+                for (int row = 0; row < rows; row++){
+                    System.arraycopy(chunk, (rowInChunk + row) * chunkPixels + colInChunk, dst, (py + row) * width + px, length);
+                }
+                px += length;
+            }
+            py += rows;
+        }
+    }
+
+    private int[] getChunk(TileGrid grid, int cx, int cy){
+        final long key = chunkKey(cx, cy);
+        int[] chunk = chunks.get(key);
+
+        if (chunk == null) {
+            chunk = new int[chunkPixels * chunkPixels];
+            for (int ty = 0; ty < chunkTiles; ty++){
+                for (int tx = 0; tx < chunkTiles; tx++){
+                    composeTile(grid, cx * chunkTiles + tx, cy * chunkTiles + ty, chunk, tx, ty);
+                }
+            }
+
+            chunks.put(key, chunk);
+            composedChunks++;
+        }
+        return chunk;
+    }
+
+    /**
+     * Composes texture and layer stack of tile into chunk bitmap.
+     * @param localX x of tile in chunk.
+     * @param localY y of tile in chunk.
+     */
+    private void composeTile(TileGrid grid, int tx, int ty, int[] chunk, int localX, int localY){
+        final int tileSize = atlas.getTileSize();
+        final int offset = localY * tileSize * chunkPixels + localX * tileSize;
+
+        for (int y = 0; y < tileSize; y++){
+            Arrays.fill(chunk, offset + y * chunkPixels, offset + y * chunkPixels + tileSize, clearColor);
+        }
+
+        final int id = grid.getTile(tx, ty);
+        if (id >= 0) drawLayer(id, Rotation.NORTH, chunk, offset);
+
+        final ImageManager stack = grid.getStack(tx, ty);
+        if (stack != null) {
+            for (int i = 0; i < stack.size(); i++){
+                final int layer = stack.getLayer(i);
+                drawLayer(ImageManager.layerId(layer), ImageManager.layerRotation(layer), chunk, offset);
+            }
+        }
+        composedTiles++;
+    }
+
+    private void drawLayer(int id, Rotation rotation, int[] chunk, int offset){
+        if (!atlas.isLoaded(id)) atlas.load(id);
+
+        final int[] tile = atlas.get(id);
+        if (tile == null) return;
+
+        final int tileSize = atlas.getTileSize();
+        final int last = tileSize - 1;
+
+        if (rotation == Rotation.NORTH && atlas.isOpaque(id)) {
+            for (int y = 0; y < tileSize; y++) System.arraycopy(tile, y * tileSize, chunk, offset + y * chunkPixels, tileSize);
+            return;
+        }
+
+        for (int y = 0; y < tileSize; y++){
+            for (int x = 0; x < tileSize; x++){
+                //Source pixel of clockwise rotated tile.
+                final int src;
+                switch (rotation) {
+                    case EAST: src = (last - x) * tileSize + y; break;
+                    case SOUTH: src = (last - y) * tileSize + (last - x); break;
+                    case WEST: src = x * tileSize + (last - y); break;
+                    default: src = y * tileSize + x;
+                }
+
+                final int index = offset + y * chunkPixels + x;
+                chunk[index] = TileRenderer.blend(tile[src], chunk[index]);
+            }
+        }
+    }
+
+    private static long chunkKey(int cx, int cy){
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return Returns amount of cached chunk bitmaps.
+     */
+    public int getCachedChunks(){
+        return chunks.size();
+    }
+}
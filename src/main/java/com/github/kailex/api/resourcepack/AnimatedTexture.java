@@ -0,0 +1,113 @@
+package com.github.kailex.api.resourcepack;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import lombok.Getter;
+
+/**
+ * This class is an animated texture (e.g. water, lava or fire). The frame strip of the texture
+ * is used as atlas: every frame is a slot (source rectangle) in the strip, so changing frames
+ * is only a swap of the source rectangle. No image is created per frame.
+ * Frame of every tick in the animation cycle is precomputed.
+ * Interpolated animations are shown without blending between frames.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class AnimatedTexture {
+
+    @Getter private final String key;
+    @Getter private final AnimationMeta meta;
+    @Getter private final Image strip;
+
+    /**
+     * Sprite and source rectangle of every slot in strip.
+     */
+    private final Sprite[] sprites;
+    private final Rectangle2D[] viewports;
+
+    /**
+     * Slot of every tick in animation cycle.
+     */
+    private final int[] slotAtTick;
+
+    public AnimatedTexture(String key, AnimationMeta meta, SpriteSheet strip) {
+        this.key = key;
+        this.meta = meta;
+        this.strip = strip.getImage();
+
+        final int columns = strip.getWidth() / meta.getFrameWidth();
+        final int slotCount = columns * (strip.getHeight() / meta.getFrameHeight());
+
+        sprites = new Sprite[slotCount];
+        viewports = new Rectangle2D[slotCount];
+        for (int slot = 0; slot < slotCount; slot++){
+            sprites[slot] = strip.sprite((slot % columns) * meta.getFrameWidth(), (slot / columns) * meta.getFrameHeight(),
+                    meta.getFrameWidth(), meta.getFrameHeight());
+            viewports[slot] = sprites[slot].getViewport();
+        }
+
+        slotAtTick = new int[meta.getCycleLength()];
+        for (int frame = 0, tick = 0; frame < meta.getFrameCount(); frame++){
+            for (int i = 0; i < meta.getTime(frame); i++) slotAtTick[tick++] = meta.getSlot(frame);
+        }
+    }
+
+    /**
+     * @return Returns slot which is shown at tick.
+     */
+    public int getSlot(long tick){
+        return slotAtTick[(int) Math.floorMod(tick, (long) slotAtTick.length)];
+    }
+
+    /**
+     * @return Returns slot which is currently shown (see TextureManager.ANIMATION_CLOCK).
+     */
+    public int getCurrentSlot(){
+        return getSlot(TextureManager.ANIMATION_CLOCK.getTicks());
+    }
+
+    /**
+     * @return Returns source rectangle of frame at tick (shared instance, no allocation).
+     */
+    public Rectangle2D getViewport(long tick){
+        return viewports[getSlot(tick)];
+    }
+
+    /**
+     * @return Returns view of frame at tick in strip.
+     */
+    public Sprite getSprite(long tick){
+        return sprites[getSlot(tick)];
+    }
+
+    /**
+     * @return Returns view of slot in strip.
+     */
+    public Sprite getSlotSprite(int slot){
+        return sprites[slot];
+    }
+
+    public int getSlotCount(){
+        return sprites.length;
+    }
+
+    /**
+     * Draws current frame.
+     */
+    public void draw(GraphicsContext gc, double dx, double dy, double dw, double dh){
+        getSprite(TextureManager.ANIMATION_CLOCK.getTicks()).draw(gc, dx, dy, dw, dh);
+    }
+
+    /**
+     * Shows current frame in image view. Call this on every tick (only viewport is swapped if frame changed).
+     */
+    public void applyTo(ImageView view){
+        if (view.getImage() != strip) view.setImage(strip);
+
+        final Rectangle2D viewport = viewports[getCurrentSlot()];
+        if (view.getViewport() != viewport) view.setViewport(viewport);
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.Tickable;
+
+/**
+ * This class is the global clock of all animated textures. It counts game ticks,
+ * so every animated texture derives its current frame from the same tick count.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class AnimationClock extends Tickable {
+
+    /**
+     * Duration of one tick in milliseconds (20 ticks per second like minecraft).
+     */
+    public static final long TICK_PERIOD = 50;
+
+    private volatile long ticks = 0;
+
+    @Override
+    public void tick() {
+        ticks++;
+    }
+
+    /**
+     * Starts clock with TICK_PERIOD if it is not already running.
+     */
+    public synchronized void startIfReady(){
+        if (isReady()) start(0, TICK_PERIOD);
+    }
+
+    /**
+     * @return Returns ticks since clock was started.
+     */
+    public long getTicks(){
+        return ticks;
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.kailex.api.resourcepack;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * This class holds the animation section of a texture's .mcmeta file (e.g. water_still.png.mcmeta).
+ * Frames are stored as slot indices (frame number in vertical strip) with their duration in ticks.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class AnimationMeta {
+
+    /**
+     * Default duration of a frame in ticks.
+     */
+    public static final int DEFAULT_FRAMETIME = 1;
+
+    @Getter private final int frameWidth;
+    @Getter private final int frameHeight;
+    @Getter private final boolean interpolate;
+
+    /**
+     * Slot of every frame in playback order.
+     */
+    private final int[] slots;
+
+    /**
+     * Duration of every frame in ticks.
+     */
+    private final int[] times;
+
+    private AnimationMeta(int frameWidth, int frameHeight, boolean interpolate, int[] slots, int[] times) {
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.interpolate = interpolate;
+        this.slots = slots;
+        this.times = times;
+    }
+
+    /**
+     * Reads animation section of mcmeta file.
+     * @param width width of animated texture (whole strip).
+     * @param height height of animated texture (whole strip).
+     * @throws IOException if file cannot be read or does not contain a valid animation section.
+     */
+    public static AnimationMeta load(Path mcmeta, int width, int height) throws IOException {
+        try (Reader reader = Files.newBufferedReader(mcmeta)) {
+            return parse(reader, width, height);
+        }
+    }
+
+    /**
+     * Reads animation section of mcmeta json.
+     * @param width width of animated texture (whole strip).
+     * @param height height of animated texture (whole strip).
+     * @throws IOException if json does not contain a valid animation section.
+     */
+    public static AnimationMeta parse(Reader reader, int width, int height) throws IOException {
+        try {
+            final JsonElement root = JsonParser.parseReader(reader);
+            if (!root.isJsonObject() || !root.getAsJsonObject().has("animation")) throw new IOException("mcmeta has no animation section.");
+
+            final JsonObject animation = root.getAsJsonObject().getAsJsonObject("animation");
+
+            //Frames are square by default (width of texture), unless width or height is given.
+            final int frameWidth = animation.has("width") ? animation.get("width").getAsInt() : Math.min(width, height);
+            final int frameHeight = animation.has("height") ? animation.get("height").getAsInt() : frameWidth;
+            if (frameWidth <= 0 || frameHeight <= 0 || frameWidth > width || frameHeight > height) {
+                throw new IOException(frameWidth + "x" + frameHeight + " is not a valid frame size.");
+            }
+
+            final int slotCount = (width / frameWidth) * (height / frameHeight);
+            final int frametime = animation.has("frametime") ? Math.max(1, animation.get("frametime").getAsInt()) : DEFAULT_FRAMETIME;
+            final boolean interpolate = animation.has("interpolate") && animation.get("interpolate").getAsBoolean();
+
+            final int[] slots;
+            final int[] times;
+
+            if (animation.has("frames")) {
+                final JsonArray frames = animation.getAsJsonArray("frames");
+                slots = new int[frames.size()];
+                times = new int[frames.size()];
+
+                for (int i = 0; i < frames.size(); i++){
+                    final JsonElement frame = frames.get(i);
+
+                    //A frame is either a slot index or an object with index and time.
+                    if (frame.isJsonObject()) {
+                        slots[i] = frame.getAsJsonObject().get("index").getAsInt();
+                        times[i] = frame.getAsJsonObject().has("time") ? Math.max(1, frame.getAsJsonObject().get("time").getAsInt()) : frametime;
+                    }
+                    else {
+                        slots[i] = frame.getAsInt();
+                        times[i] = frametime;
+                    }
+
+                    if (slots[i] < 0 || slots[i] >= slotCount) throw new IOException(slots[i] + " is not a valid frame index.");
+                }
+            }
+            else {
+                slots = new int[slotCount];
+                times = new int[slotCount];
+
+                for (int i = 0; i < slotCount; i++){
+                    slots[i] = i;
+                    times[i] = frametime;
+                }
+            }
+
+            if (slots.length == 0) throw new IOException("Animation has no frames.");
+            return new AnimationMeta(frameWidth, frameHeight, interpolate, slots, times);
+        }
+        catch (JsonParseException | IllegalStateException | ClassCastException | UnsupportedOperationException | NullPointerException e) {
+            throw new IOException("mcmeta is malformed: " + e.getMessage(), e);
+        }
+    }
+
+    public int getFrameCount(){
+        return slots.length;
+    }
+
+    /**
+     * @return Returns slot (frame number in strip) of frame.
+     */
+    public int getSlot(int frame){
+        return slots[frame];
+    }
+
+    /**
+     * @return Returns duration of frame in ticks.
+     */
+    public int getTime(int frame){
+        return times[frame];
+    }
+
+    /**
+     * @return Returns duration of whole animation in ticks.
+     */
+    public int getCycleLength(){
+        int length = 0;
+        for (int time : times) length += time;
+        return length;
+    }
+}
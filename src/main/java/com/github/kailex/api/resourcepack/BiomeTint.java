@@ -0,0 +1,192 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.ImageUtil;
+import com.github.kailex.api.util.image.Raster;
+import com.github.kailex.api.util.image.TextureData;
+import com.github.kailex.api.util.image.TintKernel;
+import javafx.scene.image.Image;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+
+/**
+ * This class tints greyscale textures (grass, foliage, water) with biome colors.
+ * Biome colors are sampled from the colormaps of applied pack. Tinted variants are cached per
+ * (texture id, quantized tint) and the least recently used ones are evicted if capacity is exceeded.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class BiomeTint {
+
+    public static final String GRASS_COLORMAP = "colormap/grass.png";
+    public static final String FOLIAGE_COLORMAP = "colormap/foliage.png";
+
+    /**
+     * Default water color of minecraft (water is not tinted by a colormap).
+     */
+    public static final int DEFAULT_WATER_COLOR = 0x3F76E4;
+
+    /**
+     * Color which is used if a colormap is missing in applied pack.
+     */
+    public static final int FALLBACK_COLOR = 0x7FB238;
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Tinted images by (texture id << 15 | quantized tint) in access order (eldest first).
+     */
+    private final LinkedHashMap<Long, Image> variants = new LinkedHashMap<>(256, 0.75f, true);
+
+    @Getter private int capacity;
+
+    @Getter private long hits;
+    @Getter private long misses;
+    @Getter private long evictions;
+
+    private @Nullable Raster grassColormap;
+    private @Nullable Raster foliageColormap;
+
+    /**
+     * @param capacity maximum amount of cached tinted variants.
+     */
+    public BiomeTint(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Sets capacity and evicts variants if needed.
+     */
+    public synchronized void setCapacity(int capacity){
+        if (capacity <= 0) throw new IllegalArgumentException(capacity + " is not a valid capacity.");
+
+        this.capacity = capacity;
+        evict();
+    }
+
+    /**
+     * @param temperature biome temperature (clamped to 0 - 1).
+     * @param downfall biome downfall (clamped to 0 - 1).
+     * @return Returns RGB grass color of biome.
+     */
+    public synchronized int getGrassColor(double temperature, double downfall){
+        if (grassColormap == null) grassColormap = TextureManager.getRaster(GRASS_COLORMAP);
+        return sample(grassColormap, temperature, downfall);
+    }
+
+    /**
+     * @param temperature biome temperature (clamped to 0 - 1).
+     * @param downfall biome downfall (clamped to 0 - 1).
+     * @return Returns RGB foliage color of biome.
+     */
+    public synchronized int getFoliageColor(double temperature, double downfall){
+        if (foliageColormap == null) foliageColormap = TextureManager.getRaster(FOLIAGE_COLORMAP);
+        return sample(foliageColormap, temperature, downfall);
+    }
+
+    /**
+     * Samples colormap like minecraft: x = (1 - temperature), y = (1 - downfall * temperature).
+     */
+    private static int sample(@Nullable Raster colormap, double temperature, double downfall){
+        if (colormap == null) return FALLBACK_COLOR;
+
+        final double t = Math.max(0, Math.min(1, temperature));
+        final double d = Math.max(0, Math.min(1, downfall)) * t;
+
+        final int x = (int) ((1 - t) * (colormap.getWidth() - 1));
+        final int y = (int) ((1 - d) * (colormap.getHeight() - 1));
+        return colormap.getArgb(x, y) & 0xFFFFFF;
+    }
+
+    /**
+     * @return Returns texture tinted with rgb or null if texture does not exist.
+     */
+    public @Nullable Image get(String key, int rgb){
+        final int id = TextureRegistry.getId(key);
+        return (id < 0) ? null : get(id, rgb);
+    }
+
+    /**
+     * Tint is quantized to 5 bits per channel, so nearby biome colors share one variant.
+     * @param id id from TextureRegistry.
+     * @param rgb tint color (alpha is ignored).
+     * @return Returns texture tinted with rgb or null if texture does not exist.
+     */
+    public synchronized @Nullable Image get(int id, int rgb){
+        final int canonicalId = TextureManager.getCanonicalId(id);
+        final int tint = quantize(rgb);
+        final long variantKey = ((long) canonicalId << 15) | tint;
+
+        Image image = variants.get(variantKey);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+
+        final String key = TextureRegistry.getKey(canonicalId);
+        final TextureData texture = (key == null) ? null : TextureManager.getTexture(key);
+        if (texture == null) return null;
+
+        misses++;
+        image = ImageUtil.toImage(TintKernel.multiply(texture, expand(tint)));
+        variants.put(variantKey, image);
+        evict();
+
+        return image;
+    }
+
+    /**
+     * @return Returns amount of cached tinted variants.
+     */
+    public synchronized int size(){
+        return variants.size();
+    }
+
+    /**
+     * Evicts all tinted variants and colormaps (colormaps are reloaded from applied pack on next use).
+     */
+    public synchronized void clear(){
+        variants.clear();
+        grassColormap = null;
+        foliageColormap = null;
+    }
+
+    public synchronized void resetStats(){
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("BiomeTint[%d / %d variants, hits=%d, misses=%d, evictions=%d]",
+                variants.size(), capacity, hits, misses, evictions);
+    }
+
+    private void evict(){
+        while (variants.size() > capacity) {
+            final Long eldest = variants.keySet().iterator().next();
+            variants.remove(eldest);
+            evictions++;
+        }
+    }
+
+    /**
+     * @return Returns RGB 555 of rgb.
+     */
+    private static int quantize(int rgb){
+        return ((rgb >>> 9) & 0x7C00) | ((rgb >>> 6) & 0x3E0) | ((rgb >>> 3) & 0x1F);
+    }
+
+    /**
+     * @return Returns RGB 888 of RGB 555 (low bits are filled with high bits, so 0x1F becomes 0xFF).
+     */
+    private static int expand(int tint){
+        final int r = (tint >>> 10) & 0x1F;
+        final int g = (tint >>> 5) & 0x1F;
+        final int b = tint & 0x1F;
+        return ((r << 3 | r >>> 2) << 16) | ((g << 3 | g >>> 2) << 8) | (b << 3 | b >>> 2);
+    }
+}
@@ -0,0 +1,306 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.ImageUtil;
+import com.github.kailex.api.util.image.Raster;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * This class renders minecraft style text from a bitmap font of applied pack (e.g. font/ascii.png).
+ * The font sheet is a 16 x 16 grid of glyphs and is used as glyph atlas. Width of every glyph is measured once.
+ * Text is either drawn glyph by glyph from the atlas or rendered into an image, which is cached,
+ * so repeated strings (HUD labels, debug overlay) are only rendered once.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class BitmapFont {
+
+    public static final String DEFAULT_FONT = "font/ascii.png";
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Glyph which is used for characters which are not in font.
+     */
+    public static final char FALLBACK = '?';
+
+    /**
+     * Characters of glyph cells 0x80 - 0xFF (font sheet follows code page 437).
+     */
+    private static final String UPPER_GLYPHS =
+            "\u00C7\u00FC\u00E9\u00E2\u00E4\u00E0\u00E5\u00E7\u00EA\u00EB\u00E8\u00EF\u00EE\u00EC\u00C4\u00C5" + //0x80
+            "\u00C9\u00E6\u00C6\u00F4\u00F6\u00F2\u00FB\u00F9\u00FF\u00D6\u00DC\u00A2\u00A3\u00A5\u20A7\u0192" + //0x90
+            "\u00E1\u00ED\u00F3\u00FA\u00F1\u00D1\u00AA\u00BA\u00BF\u2310\u00AC\u00BD\u00BC\u00A1\u00AB\u00BB" + //0xA0
+            "\u2591\u2592\u2593\u2502\u2524\u2561\u2562\u2556\u2555\u2563\u2551\u2557\u255D\u255C\u255B\u2510" + //0xB0
+            "\u2514\u2534\u252C\u251C\u2500\u253C\u255E\u255F\u255A\u2554\u2569\u2566\u2560\u2550\u256C\u2567" + //0xC0
+            "\u2568\u2564\u2565\u2559\u2558\u2552\u2553\u256B\u256A\u2518\u250C\u2588\u2584\u258C\u2590\u2580" + //0xD0
+            "\u03B1\u00DF\u0393\u03C0\u03A3\u03C3\u00B5\u03C4\u03A6\u0398\u03A9\u03B4\u221E\u03C6\u03B5\u2229" + //0xE0
+            "\u2261\u00B1\u2265\u2264\u2320\u2321\u00F7\u2248\u00B0\u2219\u00B7\u221A\u207F\u00B2\u25A0\u00A0"; //0xF0
+
+    private static volatile @Nullable BitmapFont defaultFont;
+
+    @Getter private final Image atlas;
+    private final Raster pixels;
+
+    /**
+     * Width and height of a glyph cell in pixels.
+     */
+    @Getter private final int cellSize;
+
+    /**
+     * Width of visible pixels of every glyph.
+     */
+    private final int[] glyphWidths = new int[256];
+
+    /**
+     * Rendered strings by text and color in access order (eldest first).
+     */
+    private final LinkedHashMap<TextKey, Image> renderedTexts = new LinkedHashMap<>(64, 0.75f, true);
+
+    @Getter private int capacity;
+
+    @Getter private long hits;
+    @Getter private long misses;
+
+    /**
+     * @param capacity maximum amount of cached rendered strings.
+     * @throws IllegalArgumentException if pixels is not a square grid of 16 x 16 glyphs.
+     */
+    public BitmapFont(Raster pixels, int capacity) {
+        if (pixels.getWidth() != pixels.getHeight() || pixels.getWidth() % 16 != 0) {
+            throw new IllegalArgumentException(pixels.getWidth() + "x" + pixels.getHeight() + " is not a valid font sheet.");
+        }
+
+        this.pixels = pixels;
+        this.atlas = ImageUtil.toImage(pixels);
+        this.cellSize = pixels.getWidth() / 16;
+        setCapacity(capacity);
+
+        for (int glyph = 0; glyph < 256; glyph++) glyphWidths[glyph] = measure(glyph);
+
+        //Spaces have no visible pixels.
+        glyphWidths[' '] = cellSize / 2 - getSpacing();
+        glyphWidths[0xFF] = glyphWidths[' '];
+    }
+
+    /**
+     * @return Returns font of applied pack (loaded on first call) or null if pack has no font.
+     */
+    public static @Nullable BitmapFont getDefault(){
+        BitmapFont font = defaultFont;
+
+        if (font == null) {
+            synchronized (BitmapFont.class) {
+                font = defaultFont;
+
+                if (font == null) {
+                    final Raster raster = TextureManager.getRaster(DEFAULT_FONT);
+                    if (raster == null) return null;
+
+                    font = new BitmapFont(raster, DEFAULT_CAPACITY);
+                    defaultFont = font;
+                }
+            }
+        }
+        return font;
+    }
+
+    /**
+     * Releases font of applied pack.
+     */
+    public static void clearDefault(){
+        defaultFont = null;
+    }
+
+    /**
+     * @return Returns width of glyph until last column with a visible pixel.
+     */
+    private int measure(int glyph){
+        final int cellX = (glyph % 16) * cellSize;
+        final int cellY = (glyph / 16) * cellSize;
+
+        for (int x = cellSize - 1; x >= 0; x--){
+            for (int y = 0; y < cellSize; y++){
+                if ((pixels.getArgb(cellX + x, cellY + y) >>> 24) != 0) return x + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return Returns glyph index of c in font sheet (index of FALLBACK if font has no glyph for c).
+     */
+    private static int glyph(char c){
+        if (c < 0x80) return c;
+
+        final int index = UPPER_GLYPHS.indexOf(c);
+        return (index < 0) ? FALLBACK : 0x80 + index;
+    }
+
+    /**
+     * @return Returns space between two glyphs in pixels (one font pixel).
+     */
+    public int getSpacing(){
+        return Math.max(1, cellSize / 8);
+    }
+
+    /**
+     * @return Returns horizontal advance of c in pixels (width and spacing).
+     */
+    public int getAdvance(char c){
+        return glyphWidths[glyph(c)] + getSpacing();
+    }
+
+    /**
+     * @return Returns width of text in pixels (without trailing spacing).
+     */
+    public int getWidth(String text){
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) width += getAdvance(text.charAt(i));
+        return Math.max(0, width - getSpacing());
+    }
+
+    /**
+     * Draws text glyph by glyph from atlas (no image is created).
+     * @param scale screen pixels per font pixel.
+     */
+    public void draw(GraphicsContext gc, String text, double x, double y, double scale){
+        double dx = x;
+
+        for (int i = 0; i < text.length(); i++){
+            final int glyph = glyph(text.charAt(i));
+            final int width = glyphWidths[glyph];
+
+            if (width > 0) {
+                gc.drawImage(atlas, (glyph % 16) * cellSize, (glyph / 16) * cellSize, width, cellSize,
+                        dx, y, width * scale, cellSize * scale);
+            }
+            dx += (width + getSpacing()) * scale;
+        }
+    }
+
+    /**
+     * Renders text into a raster. Glyph colors are multiplied with rgb.
+     * @param rgb text color (alpha is ignored).
+     * @return Returns new raster with the height of a glyph cell (at least one pixel wide).
+     */
+    public Raster render(String text, int rgb){
+        final Raster result = new Raster(Math.max(1, getWidth(text)), cellSize);
+        final int[] dst = result.getPixels();
+        final int[] src = pixels.getPixels();
+        final int sheetWidth = pixels.getWidth();
+
+        final int tr = (rgb >>> 16) & 0xFF;
+        final int tg = (rgb >>> 8) & 0xFF;
+        final int tb = rgb & 0xFF;
+
+        int dx = 0;
+        for (int i = 0; i < text.length(); i++){
+            final int glyph = glyph(text.charAt(i));
+            final int width = glyphWidths[glyph];
+            final int cellX = (glyph % 16) * cellSize;
+            final int cellY = (glyph / 16) * cellSize;
+
+            for (int y = 0; y < cellSize; y++){
+                for (int x = 0; x < width; x++){
+                    final int argb = src[(cellY + y) * sheetWidth + cellX + x];
+                    if ((argb >>> 24) == 0) continue;
+
+                    final int r = (((argb >>> 16) & 0xFF) * tr + 255) >>> 8;
+                    final int g = (((argb >>> 8) & 0xFF) * tg + 255) >>> 8;
+                    final int b = ((argb & 0xFF) * tb + 255) >>> 8;
+                    dst[y * result.getWidth() + dx + x] = (argb & 0xFF000000) | (r << 16) | (g << 8) | b;
+                }
+            }
+            dx += width + getSpacing();
+        }
+        return result;
+    }
+
+    /**
+     * Returns text as image. Images are cached, so use this for repeated strings (e.g. HUD labels).
+     * @param rgb text color (alpha is ignored).
+     * @return Returns rendered text in font pixels (scale it with nearest neighbour sampling).
+     */
+    public synchronized Image getText(String text, int rgb){
+        final TextKey key = new TextKey(text, rgb & 0xFFFFFF);
+        Image image = renderedTexts.get(key);
+
+        if (image != null) {
+            hits++;
+            return image;
+        }
+
+        misses++;
+        image = ImageUtil.toImage(render(text, rgb));
+        renderedTexts.put(key, image);
+        evict();
+
+        return image;
+    }
+
+    /**
+     * Sets capacity and evicts rendered strings if needed.
+     */
+    public synchronized void setCapacity(int capacity){
+        if (capacity <= 0) throw new IllegalArgumentException(capacity + " is not a valid capacity.");
+
+        this.capacity = capacity;
+        evict();
+    }
+
+    /**
+     * @return Returns amount of cached rendered strings.
+     */
+    public synchronized int size(){
+        return renderedTexts.size();
+    }
+
+    /**
+     * Releases all cached rendered strings.
+     */
+    public synchronized void clear(){
+        renderedTexts.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("BitmapFont[cell=%d, %d / %d texts, hits=%d, misses=%d]", cellSize, renderedTexts.size(), capacity, hits, misses);
+    }
+
+    private void evict(){
+        while (renderedTexts.size() > capacity) {
+            renderedTexts.remove(renderedTexts.keySet().iterator().next());
+        }
+    }
+
+    private static class TextKey {
+        private final String text;
+        private final int rgb;
+
+        private TextKey(String text, int rgb) {
+            this.text = text;
+            this.rgb = rgb;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TextKey)) return false;
+
+            final TextKey other = (TextKey) o;
+            return rgb == other.rgb && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, rgb);
+        }
+    }
+}
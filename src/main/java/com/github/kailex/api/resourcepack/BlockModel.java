@@ -0,0 +1,113 @@
+package com.github.kailex.api.resourcepack;
+
+import com.google.gson.stream.JsonReader;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is the compact form of a block or item model json (models/block/*.json).
+ * Only parent and texture variables are kept, all other sections (elements, display) are skipped while parsing.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class BlockModel {
+
+    /**
+     * Parent model without namespace (e.g. block/cube_all) or null if model has no parent.
+     */
+    @Getter private final @Nullable String parent;
+
+    /**
+     * Texture variables (e.g. all) and their values (e.g. block/stone or #all) in parallel arrays.
+     */
+    private final String[] textureNames;
+    private final String[] textureValues;
+
+    public BlockModel(@Nullable String parent, String[] textureNames, String[] textureValues) {
+        if (textureNames.length != textureValues.length) throw new IllegalArgumentException("Texture names and values do not match.");
+
+        this.parent = parent;
+        this.textureNames = textureNames;
+        this.textureValues = textureValues;
+    }
+
+    /**
+     * Reads model json with streaming parser (no tree is built).
+     * @throws IOException if json is malformed.
+     */
+    public static BlockModel parse(JsonReader reader) throws IOException {
+        String parent = null;
+        final List<String> names = new ArrayList<>();
+        final List<String> values = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "parent":
+                    parent = ModelManager.stripNamespace(reader.nextString());
+                    break;
+                case "textures":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        names.add(reader.nextName());
+                        values.add(ModelManager.stripNamespace(reader.nextString()));
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BlockModel(parent, names.toArray(new String[0]), values.toArray(new String[0]));
+    }
+
+    /**
+     * @return Returns value of texture variable in this model (without parents) or null if it is not defined.
+     */
+    public @Nullable String getTexture(String name){
+        for (int i = 0; i < textureNames.length; i++){
+            if (textureNames[i].equals(name)) return textureValues[i];
+        }
+        return null;
+    }
+
+    public int getTextureCount(){
+        return textureNames.length;
+    }
+
+    public String getTextureName(int index){
+        return textureNames[index];
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeUTF((parent == null) ? "" : parent);
+        out.writeShort(textureNames.length);
+
+        for (int i = 0; i < textureNames.length; i++){
+            out.writeUTF(textureNames[i]);
+            out.writeUTF(textureValues[i]);
+        }
+    }
+
+    static BlockModel read(DataInput in) throws IOException {
+        final String parent = in.readUTF();
+        final int count = in.readUnsignedShort();
+        final String[] names = new String[count];
+        final String[] values = new String[count];
+
+        for (int i = 0; i < count; i++){
+            names[i] = in.readUTF();
+            values[i] = in.readUTF();
+        }
+        return new BlockModel(parent.isEmpty() ? null : parent, names, values);
+    }
+}
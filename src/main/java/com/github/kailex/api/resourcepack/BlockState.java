@@ -0,0 +1,236 @@
+package com.github.kailex.api.resourcepack;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is the compact form of a blockstate json (blockstates/*.json).
+ * Every variant (e.g. facing=north) stores its model and rotation. If a variant has several weighted models
+ * only the first one is kept. Multipart blockstates store the models of all parts (conditions are skipped).
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class BlockState {
+
+    private final String[] variantKeys;
+
+    /**
+     * Model without namespace (e.g. block/oak_log) of every variant.
+     */
+    private final String[] variantModels;
+
+    /**
+     * X rotation / 90 << 2 | Y rotation / 90 of every variant.
+     */
+    private final byte[] variantRotations;
+
+    private final String[] multipartModels;
+
+    public BlockState(String[] variantKeys, String[] variantModels, byte[] variantRotations, String[] multipartModels) {
+        if (variantKeys.length != variantModels.length || variantKeys.length != variantRotations.length) {
+            throw new IllegalArgumentException("Variant keys, models and rotations do not match.");
+        }
+
+        this.variantKeys = variantKeys;
+        this.variantModels = variantModels;
+        this.variantRotations = variantRotations;
+        this.multipartModels = multipartModels;
+    }
+
+    /**
+     * Reads blockstate json with streaming parser (no tree is built).
+     * @throws IOException if json is malformed.
+     */
+    public static BlockState parse(JsonReader reader) throws IOException {
+        final List<String> keys = new ArrayList<>();
+        final List<String> models = new ArrayList<>();
+        final List<Byte> rotations = new ArrayList<>();
+        final List<String> multipart = new ArrayList<>();
+        final int[] rotation = new int[1];
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "variants":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        keys.add(reader.nextName());
+                        models.add(readModels(reader, rotation, null));
+                        rotations.add((byte) rotation[0]);
+                    }
+                    reader.endObject();
+                    break;
+                case "multipart":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        reader.beginObject();
+                        while (reader.hasNext()) {
+                            if (reader.nextName().equals("apply")) readModels(reader, rotation, multipart);
+                            else reader.skipValue();
+                        }
+                        reader.endObject();
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        final byte[] packedRotations = new byte[rotations.size()];
+        for (int i = 0; i < packedRotations.length; i++) packedRotations[i] = rotations.get(i);
+
+        return new BlockState(keys.toArray(new String[0]), models.toArray(new String[0]), packedRotations, multipart.toArray(new String[0]));
+    }
+
+    /**
+     * Reads one model object or an array of weighted model objects.
+     * @param rotation receives packed rotation of first model.
+     * @param all receives every model (null if only first model is needed).
+     * @return Returns first model.
+     */
+    private static String readModels(JsonReader reader, int[] rotation, @Nullable List<String> all) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            final String model = readModel(reader, rotation);
+            if (all != null) all.add(model);
+            return model;
+        }
+
+        String first = null;
+        final int[] firstRotation = new int[1];
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            final String model = readModel(reader, rotation);
+            if (all != null) all.add(model);
+
+            if (first == null) {
+                first = model;
+                firstRotation[0] = rotation[0];
+            }
+        }
+        reader.endArray();
+
+        if (first == null) throw new IOException("Variant has no model.");
+        rotation[0] = firstRotation[0];
+        return first;
+    }
+
+    private static String readModel(JsonReader reader, int[] rotation) throws IOException {
+        String model = null;
+        int x = 0;
+        int y = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model":
+                    model = ModelManager.stripNamespace(reader.nextString());
+                    break;
+                case "x":
+                    x = reader.nextInt();
+                    break;
+                case "y":
+                    y = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (model == null) throw new IOException("Variant has no model.");
+        rotation[0] = (Math.floorMod(x / 90, 4) << 2) | Math.floorMod(y / 90, 4);
+        return model;
+    }
+
+    public int getVariantCount(){
+        return variantKeys.length;
+    }
+
+    /**
+     * @return Returns index of variant (e.g. "facing=north" or "" for blocks without properties) or -1 if it does not exist.
+     */
+    public int getVariant(String key){
+        for (int i = 0; i < variantKeys.length; i++){
+            if (variantKeys[i].equals(key)) return i;
+        }
+        return -1;
+    }
+
+    public String getVariantKey(int variant){
+        return variantKeys[variant];
+    }
+
+    /**
+     * @return Returns model of variant without namespace (e.g. block/oak_log).
+     */
+    public String getModel(int variant){
+        return variantModels[variant];
+    }
+
+    /**
+     * @return Returns x rotation of variant in degrees.
+     */
+    public int getRotationX(int variant){
+        return ((variantRotations[variant] >>> 2) & 3) * 90;
+    }
+
+    /**
+     * @return Returns y rotation of variant in degrees.
+     */
+    public int getRotationY(int variant){
+        return (variantRotations[variant] & 3) * 90;
+    }
+
+    public boolean isMultipart(){
+        return multipartModels.length > 0;
+    }
+
+    public int getMultipartCount(){
+        return multipartModels.length;
+    }
+
+    public String getMultipartModel(int part){
+        return multipartModels[part];
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeShort(variantKeys.length);
+        for (int i = 0; i < variantKeys.length; i++){
+            out.writeUTF(variantKeys[i]);
+            out.writeUTF(variantModels[i]);
+            out.writeByte(variantRotations[i]);
+        }
+
+        out.writeShort(multipartModels.length);
+        for (String model : multipartModels) out.writeUTF(model);
+    }
+
+    static BlockState read(DataInput in) throws IOException {
+        final int variantCount = in.readUnsignedShort();
+        final String[] keys = new String[variantCount];
+        final String[] models = new String[variantCount];
+        final byte[] rotations = new byte[variantCount];
+
+        for (int i = 0; i < variantCount; i++){
+            keys[i] = in.readUTF();
+            models[i] = in.readUTF();
+            rotations[i] = in.readByte();
+        }
+
+        final String[] multipart = new String[in.readUnsignedShort()];
+        for (int i = 0; i < multipart.length; i++) multipart[i] = in.readUTF();
+
+        return new BlockState(keys, models, rotations, multipart);
+    }
+}
@@ -6,87 +6,161 @@ import javafx.scene.image.Image;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 
 /**
  * This class can manage an amount (Menge) of images and their rotations.
  * All images were merged together (with individual rotation) to create one image.
+ * Layers are stored as packed ints (texture id from TextureRegistry and rotation in the lowest two bits).
+ * Images are resolved through TextureManager.RESIDENCY and scaled copies are taken from TextureManager.ZOOM_CACHE.
+ * Rendered image is cached until layers or loaded textures change.
  *
  * @author Alexander Ley
- * @version 1.2
+ * @version 1.8
  */
 public class ImageManager implements Serializable {
+    private static final long serialVersionUID = 1L;
 
+    //Render Pipeline
     /**
-     * A Hashmap containing all Images from textures folder. The Hashmap maps filename (with .png) and the corresponding Image.
+     * Packed layers which were later merged together (see packLayer(...)).
+     * Ids are only valid while application is running, so layers are serialized by key (see writeObject(...)).
      */
-    public static final HashMap<String, Image> IMAGE_MAP = new HashMap<>();
+    private transient int[] layers = new int[2];
+    private transient int size = 0;
 
-    //Render Pipeline
     /**
-     * List of all imageKeys which were later merged together.
+     * Rendered Image
      */
-    private List<String> imageKeys = new ArrayList<>();
+    @Nullable
+    private transient Image image;
+
     /**
-     * List of corresponding rotations.
+     * Texture generation of rendered image (see TextureManager.getGeneration()).
      */
-    private List<Rotation> imageRot = new ArrayList<>();
+    private transient int imageGeneration;
 
     /**
-     * Rendered Image
+     * Is called if layers change (e.g. to invalidate cached world chunks).
      */
     @Nullable
-    private transient Image image;
+    private transient Runnable changeListener;
 
     /**
-     * Creates an empty ImageManager (imageKeys and imageRot are empty).
+     * Creates an empty ImageManager (without layers).
      */
     public ImageManager(){ }
 
     /**
-     * @param imageKey ImageKey (Note: The key have to exists in IMAGE_MAP)
+     * @param imageKey ImageKey (Note: The key have to exists in TextureManager.RESIDENCY)
      */
     public ImageManager(String... imageKey){
         this(Arrays.asList(imageKey));
     }
 
     /**
-     * @param imageKeys ImageKeys (Note: All list elements have to exists in IMAGE_MAP)
+     * @param imageKeys ImageKeys (Note: All list elements have to exists in TextureManager.RESIDENCY)
      */
     public ImageManager(List<String> imageKeys) {
         imageKeys.forEach(this::addKey);
     }
 
+    /**
+     * Wraps already packed layers (used by ImageManagerCodec, array is not copied).
+     */
+    ImageManager(int[] layers, int size){
+        this.layers = layers;
+        this.size = size;
+    }
+
+    /**
+     * @return Returns texture id and rotation packed into one int.
+     */
+    public static int packLayer(int textureId, Rotation rot){
+        return textureId << 2 | rot.ordinal();
+    }
+
+    /**
+     * @return Returns texture id of packed layer.
+     */
+    public static int layerId(int layer){
+        return layer >>> 2;
+    }
+
+    /**
+     * @return Returns rotation of packed layer.
+     */
+    public static Rotation layerRotation(int layer){
+        return Rotation.byOrdinal(layer & 3);
+    }
+
     /**
      * Adds an image (via key) to render pipeline.
-     * @param key ImageKey (Note: The key have to exists in IMAGE_MAP)
+     * @param key ImageKey (Note: The key have to exists in TextureManager.RESIDENCY)
      * @param rot Individual Rotation.
      */
     public void addKey(@NotNull String key, Rotation rot){
-        if (!IMAGE_MAP.containsKey(key)) throw new IllegalArgumentException("Key is not in Image Map.");
+        if (!TextureManager.RESIDENCY.contains(key)) throw new IllegalArgumentException(key + " is not a texture.");
 
-        imageKeys.add(key);
-        imageRot.add(rot);
+        addLayer(packLayer(TextureRegistry.intern(key), rot));
     }
 
     /**
      * Adds an image (via key) to render pipeline (Individual Rotation is 0).
-     * @param key ImageKey (Note: The key have to exists in IMAGE_MAP)
+     * @param key ImageKey (Note: The key have to exists in TextureManager.RESIDENCY)
      */
     public void addKey(@NotNull String key){
         addKey(key, Rotation.NORTH);
     }
 
+    /**
+     * Adds an image (via texture id) to render pipeline.
+     * @param textureId id from TextureRegistry.
+     * @param rot Individual Rotation.
+     */
+    public void addTexture(int textureId, Rotation rot){
+        if (!TextureRegistry.isRegistered(textureId)) throw new IllegalArgumentException(textureId + " is not a registered texture.");
+
+        addLayer(packLayer(textureId, rot));
+    }
+
+    private void addLayer(int layer){
+        if (size == layers.length) layers = Arrays.copyOf(layers, size * 2);
+        layers[size++] = layer;
+        changed();
+    }
+
+    /**
+     * @param listener is called after every change of layers (null removes listener).
+     */
+    public void setChangeListener(@Nullable Runnable listener){
+        this.changeListener = listener;
+    }
+
+    private void changed(){
+        image = null;
+        if (changeListener != null) changeListener.run();
+    }
+
     /**
      * Insert key in image pipeline at specific position.
      */
     public void insertKey(@NotNull String key, Rotation rot, int pos){
-        imageKeys = insert(imageKeys, key, pos);
-        imageRot = insert(imageRot, rot, pos);
+        if (pos < 0 || pos >= size) throw new IllegalArgumentException(pos + " is not in list.");
+
+        final int layer = packLayer(TextureRegistry.intern(key), rot);
+
+        if (size == layers.length) layers = Arrays.copyOf(layers, size * 2);
+        System.arraycopy(layers, pos, layers, pos + 1, size - pos);
+        layers[pos] = layer;
+        size++;
+        changed();
     }
 
     /**
@@ -96,50 +170,61 @@ public class ImageManager implements Serializable {
         insertKey(key, Rotation.NORTH, pos);
     }
 
+    public int size(){
+        return size;
+    }
+
     /**
-     * Help method to insert element at specific position into list. The origin list won't be modified.
-     * @return Returns new list with inserted element.
+     * @return Returns packed layer at position (see layerId(...) and layerRotation(...)).
      */
-    private <T> List<T> insert(List<T> list, @NotNull T element, int pos){
-        if (pos < 0 || pos >= list.size()) throw new IllegalArgumentException(pos + " is not in list.");
-
-        List<T> retList = new ArrayList<>();
-
-
-        for (int i = 0; i < list.size(); i++){
-            if (i == pos){
-                retList.add(element);
-            }
-
-            retList.add(list.get(i));
-        }
+    public int getLayer(int pos){
+        if (pos < 0 || pos >= size) throw new IndexOutOfBoundsException(pos + " is not in list.");
+        return layers[pos];
+    }
 
-        return retList;
+    /**
+     * @return Returns image key at position.
+     */
+    public String getKey(int pos){
+        return TextureRegistry.getKey(layerId(getLayer(pos)));
     }
 
-    public int size(){
-        return imageKeys.size();
+    /**
+     * @return Returns rotation at position.
+     */
+    public Rotation getRotation(int pos){
+        return layerRotation(getLayer(pos));
     }
 
     /**
      *  Removes image key and corresponding rotation data.
+     *  @throws IndexOutOfBoundsException if key is not in list (as before layers were packed).
      */
     public void removeKey(String key){
-        int pos = imageKeys.indexOf(key);
-        imageKeys.remove(key);
-        imageRot.remove(pos);
+        final int id = TextureRegistry.getId(key);
+
+        for (int i = 0; id >= 0 && i < size; i++){
+            if (layerId(layers[i]) == id) {
+                System.arraycopy(layers, i + 1, layers, i, size - i - 1);
+                size--;
+                changed();
+                return;
+            }
+        }
+        throw new IndexOutOfBoundsException(key + " is not in list.");
     }
 
     /**
      * Clears ImageManager. Image is after clear() null.
      */
     public void clear(){
-        imageKeys.clear();
-        imageRot.clear();
+        size = 0;
+        image = null;
+        changed();
     }
 
     /**
-     * @return Returns rendered image.
+     * @return Returns rendered image (cached until layers or loaded textures change).
      */
     public Image getImage() {
         renderImage();
@@ -147,24 +232,91 @@ public class ImageManager implements Serializable {
     }
 
     /**
-     * Render all images in pipeline with their individual rotations.
+     * Render all images in pipeline with their individual rotations. Image has the size of the largest layer.
+     * Smaller layers are taken from ZOOM_CACHE if they fit by a zoom level, so they are not resampled again.
      */
     private void renderImage(){
-        if (imageKeys.isEmpty()) return;
+        if (size == 0) return;
+        if (image != null && imageGeneration == TextureManager.getGeneration()) return;
+
+        final int generation = TextureManager.getGeneration();
+        final Image[] images = new Image[size];
+        int width = 0;
+        int height = 0;
+
+        for (int i = 0; i < size; i++){
+            images[i] = layerImage(layerId(layers[i]));
+            if (images[i] == null) throw new IllegalStateException(TextureRegistry.getKey(layerId(layers[i])) + " cannot be loaded.");
+
+            final boolean turned = layerRotation(layers[i]).getDegrees() % 180 != 0;
+            width = Math.max(width, (int) (turned ? images[i].getHeight() : images[i].getWidth()));
+            height = Math.max(height, (int) (turned ? images[i].getWidth() : images[i].getHeight()));
+        }
+
+        final List<Image> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++){
+            final int id = layerId(layers[i]);
+            final Rotation rot = layerRotation(layers[i]);
+            Image image = images[i];
 
-        List<Image> list = new ArrayList<>();
+            //Zoom of layer if it fits into merged image by a zoom level (rotated layers have swapped size).
+            final int layerWidth = (int) ((rot.getDegrees() % 180 != 0) ? image.getHeight() : image.getWidth());
+            final int layerHeight = (int) ((rot.getDegrees() % 180 != 0) ? image.getWidth() : image.getHeight());
+            final int zoom = (width % layerWidth == 0 && height % layerHeight == 0 && width / layerWidth == height / layerHeight) ? width / layerWidth : 0;
 
-        for (int i = 0; i < imageKeys.size(); i++){
-            final Rotation rot = imageRot.get(i);
-            Image image = IMAGE_MAP.get(imageKeys.get(i));
+            if (zoom > 1 && ZoomCache.isZoomLevel(zoom) && !isAnimated(id)) {
+                final Image scaled = TextureManager.ZOOM_CACHE.get(id, zoom);
+                if (scaled != null) image = scaled;
+            }
 
             if (rot != Rotation.NORTH){
-                image = ImageUtil.rotateImage(image, rot.getDegrees());
+                image = ImageUtil.toImage(ImageUtil.toRaster(image).rotate(rot.getDegrees()));
             }
 
             list.add(image);
         }
 
-        this.image = ImageUtil.mergeImages(list);
+        this.image = ImageUtil.mergeImages(list, width, height);
+        this.imageGeneration = generation;
+    }
+
+    private static boolean isAnimated(int id){
+        final String key = TextureRegistry.getKey(id);
+        return key != null && TextureManager.isAnimated(key);
+    }
+
+    /**
+     * Animated textures are rendered with their first frame (animated tiles should be drawn with AnimatedTexture).
+     * @return Returns image of texture or null if it cannot be loaded.
+     */
+    private static @Nullable Image layerImage(int id){
+        final String key = TextureRegistry.getKey(id);
+        final AnimatedTexture animation = (key == null) ? null : TextureManager.getAnimation(key);
+
+        if (animation != null) return animation.getSlotSprite(animation.getSlot(0)).toImage();
+        return TextureManager.RESIDENCY.get(id);
+    }
+
+    /**
+     * Writes layers as keys and rotations, because texture ids are not stable between launches.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+
+        for (int i = 0; i < size; i++){
+            out.writeUTF(getKey(i));
+            out.writeByte(layers[i] & 3);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        size = in.readInt();
+        layers = new int[Math.max(2, size)];
+
+        for (int i = 0; i < size; i++){
+            layers[i] = packLayer(TextureRegistry.intern(in.readUTF()), Rotation.byOrdinal(in.readByte() & 3));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package com.github.kailex.api.resourcepack;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class encodes arrays of ImageManager layer stacks into a compact versioned binary format.
+ * Only keys which are used are written once into a dictionary, every layer is one varint (dictionary index and rotation).
+ *
+ * Format:
+ * magic (int), version (byte),
+ * dictionary size (varint), per key: length (varint) and UTF-8 bytes,
+ * stack count (varint), per stack: layer count (varint) and per layer (dictionary index << 2 | rotation) (varint).
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class ImageManagerCodec {
+
+    private static final int MAGIC = 0x4B58494D;
+    private static final byte VERSION = 1;
+
+    /**
+     * Encodes stacks into a new buffer with exact size (position 0).
+     */
+    public static ByteBuffer encode(ImageManager... stacks){
+        final Dictionary dictionary = new Dictionary(stacks);
+        final ByteBuffer buffer = ByteBuffer.allocate(dictionary.encodedSize(stacks));
+        write(dictionary, stacks, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Encodes stacks into buffer at current position.
+     * @throws java.nio.BufferOverflowException if buffer has not enough remaining bytes (see encodedSize(...)).
+     */
+    public static void encode(ImageManager[] stacks, ByteBuffer buffer){
+        write(new Dictionary(stacks), stacks, buffer);
+    }
+
+    /**
+     * @return Returns amount of bytes encode(...) needs for stacks.
+     */
+    public static int encodedSize(ImageManager... stacks){
+        return new Dictionary(stacks).encodedSize(stacks);
+    }
+
+    private static void write(Dictionary dictionary, ImageManager[] stacks, ByteBuffer buffer){
+        buffer.putInt(MAGIC).put(VERSION);
+
+        writeVarInt(buffer, dictionary.keys.size());
+        for (byte[] key : dictionary.keys){
+            writeVarInt(buffer, key.length);
+            buffer.put(key);
+        }
+
+        writeVarInt(buffer, stacks.length);
+        for (ImageManager stack : stacks){
+            writeVarInt(buffer, stack.size());
+
+            for (int i = 0; i < stack.size(); i++){
+                final int layer = stack.getLayer(i);
+                writeVarInt(buffer, dictionary.localIds[ImageManager.layerId(layer)] << 2 | (layer & 3));
+            }
+        }
+    }
+
+    /**
+     * Decodes stacks from current position of buffer. Keys will be interned in TextureRegistry.
+     * @throws IOException if data is corrupt or was written by an unsupported version.
+     */
+    public static ImageManager[] decode(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) throw new IOException("Data is not an encoded ImageManager array.");
+
+            final byte version = buffer.get();
+            if (version != VERSION) throw new IOException("Version " + version + " is not supported.");
+
+            final int[] textureIds = new int[readCount(buffer, "dictionary size")];
+            for (int i = 0; i < textureIds.length; i++){
+                final byte[] key = new byte[readCount(buffer, "key length")];
+                buffer.get(key);
+                textureIds[i] = TextureRegistry.intern(new String(key, StandardCharsets.UTF_8));
+            }
+
+            final ImageManager[] stacks = new ImageManager[readCount(buffer, "stack count")];
+            for (int s = 0; s < stacks.length; s++){
+                final int size = readCount(buffer, "layer count");
+                final int[] layers = new int[Math.max(2, size)];
+
+                for (int i = 0; i < size; i++){
+                    final int encoded = readVarInt(buffer);
+                    layers[i] = textureIds[encoded >>> 2] << 2 | (encoded & 3);
+                }
+                stacks[s] = new ImageManager(layers, size);
+            }
+            return stacks;
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Encoded ImageManager array is corrupt.", e);
+        }
+    }
+
+    /**
+     * Saves stacks to file. Recreates file if it does already exist.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void save(Path path, ImageManager... stacks) throws IOException {
+        final ByteBuffer buffer = encode(stacks);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    /**
+     * Loads stacks from file.
+     * @throws IOException if an I/O error occurs or data is corrupt.
+     */
+    public static ImageManager[] load(Path path) throws IOException {
+        if (!path.toFile().isFile()) throw new IllegalArgumentException(path + " is not a file.");
+
+        return decode(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Reads a count of elements which take at least one byte each.
+     * @throws IOException if count is negative or larger than remaining bytes (data is corrupt or truncated).
+     */
+    private static int readCount(ByteBuffer buffer, String name) throws IOException {
+        final int count = readVarInt(buffer);
+        if (count < 0 || count > buffer.remaining()) throw new IOException("Corrupt " + name + " " + count + " in encoded ImageManager array.");
+        return count;
+    }
+
+    private static void writeVarInt(ByteBuffer buffer, int value){
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7){
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Varint is too long.");
+    }
+
+    private static int varIntSize(int value){
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Maps used texture ids to dense local ids in order of first appearance.
+     */
+    private static class Dictionary {
+        private final int[] localIds;
+        private final List<byte[]> keys = new ArrayList<>();
+
+        private Dictionary(ImageManager[] stacks) {
+            localIds = new int[TextureRegistry.size()];
+            Arrays.fill(localIds, -1);
+
+            for (ImageManager stack : stacks){
+                for (int i = 0; i < stack.size(); i++){
+                    final int id = ImageManager.layerId(stack.getLayer(i));
+
+                    if (localIds[id] < 0) {
+                        localIds[id] = keys.size();
+                        keys.add(TextureRegistry.getKey(id).getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+
+        private int encodedSize(ImageManager[] stacks){
+            int size = 5 + varIntSize(keys.size()) + varIntSize(stacks.length);
+
+            for (byte[] key : keys){
+                size += varIntSize(key.length) + key.length;
+            }
+
+            for (ImageManager stack : stacks){
+                size += varIntSize(stack.size());
+
+                for (int i = 0; i < stack.size(); i++){
+                    final int layer = stack.getLayer(i);
+                    size += varIntSize(localIds[ImageManager.layerId(layer)] << 2 | (layer & 3));
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.LoggerUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class handles translations of applied pack. Only the active locale and en_us (as fallback) are loaded.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class LanguageManager {
+    public static final Logger LOGGER = LoggerUtil.getLogger("LanguageManager");
+
+    /**
+     * Language folder relative to resource folder.
+     */
+    public static final String LANG_PATH = "assets/minecraft/lang";
+
+    public static final String DEFAULT_LOCALE = "en_us";
+
+    private static volatile @Nullable LanguageTable table;
+
+    /**
+     * Loads active locale of resource folder. Keys which are missing in locale are taken from en_us.
+     * If locale does not exist en_us is used.
+     * @param locale e.g. de_de.
+     * @throws IllegalArgumentException if locale is not a valid locale name.
+     */
+    public static synchronized void loadLanguage(Path resourcePath, String locale){
+        if (!locale.matches("[a-z0-9_]+")) throw new IllegalArgumentException(locale + " is not a valid locale.");
+
+        final Path langPath = resourcePath.resolve(LANG_PATH);
+        final long start = System.nanoTime();
+
+        final LanguageTable fallback = load(langPath, DEFAULT_LOCALE, null);
+        final LanguageTable active = locale.equals(DEFAULT_LOCALE) ? fallback : load(langPath, locale, fallback);
+        table = (active != null) ? active : fallback;
+
+        if (table != null) {
+            LOGGER.log(Level.INFO, "Loaded " + table.getLocale() + " in " + (System.nanoTime() - start) / 1_000_000 + " ms ("
+                    + getByteSize() / 1024 + " KB).");
+        }
+    }
+
+    /**
+     * @return Returns table or null if locale does not exist or cannot be read.
+     */
+    private static @Nullable LanguageTable load(Path langPath, String locale, @Nullable LanguageTable fallback){
+        final Path file = langPath.resolve(locale + ".json");
+        if (!file.toFile().isFile()) {
+            LOGGER.log(Level.WARNING, "Language " + locale + " does not exist.");
+            return null;
+        }
+
+        try {
+            return LanguageTable.load(file, locale, fallback);
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot load language " + locale + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return Returns translation of key or key itself if it is not translated (or no language is loaded).
+     */
+    public static String translate(String key){
+        final LanguageTable current = table;
+        return (current == null) ? key : current.get(key);
+    }
+
+    /**
+     * @return Returns translation of key formatted with args.
+     */
+    public static String translate(String key, Object... args){
+        return String.format(translate(key), args);
+    }
+
+    /**
+     * @return Returns locale of loaded language or null if no language is loaded.
+     */
+    public static @Nullable String getLocale(){
+        final LanguageTable current = table;
+        return (current == null) ? null : current.getLocale();
+    }
+
+    /**
+     * @return Returns bytes of all loaded tables (active locale and fallback).
+     */
+    public static long getByteSize(){
+        long size = 0;
+        for (LanguageTable current = table; current != null; current = current.getFallback()) size += current.byteSize();
+        return size;
+    }
+
+    /**
+     * Releases loaded language.
+     */
+    public static synchronized void clear(){
+        table = null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.github.kailex.api.resourcepack;
+
+import com.google.gson.stream.JsonReader;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * This class stores the translations of one locale (e.g. lang/en_us.json).
+ * Keys and values are packed into one char buffer and found by an open addressing index,
+ * so a table needs no object per entry. Lookups do not allocate (a value string is created once on first lookup).
+ * Missing keys are looked up in fallback table (e.g. en_us).
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class LanguageTable {
+
+    @Getter private final String locale;
+    @Getter private final @Nullable LanguageTable fallback;
+
+    /**
+     * Key and value of every entry one after another.
+     */
+    private final char[] chars;
+
+    /**
+     * Per entry start of key, length of key and length of value (value starts directly after key).
+     */
+    private final int[] entries;
+
+    /**
+     * Open addressing index (entry + 1, 0 marks an empty slot). Length is a power of two.
+     */
+    private final int[] index;
+
+    /**
+     * Values which were already looked up.
+     */
+    private final String[] values;
+
+    private LanguageTable(String locale, @Nullable LanguageTable fallback, char[] chars, int[] entries, int[] index) {
+        this.locale = locale;
+        this.fallback = fallback;
+        this.chars = chars;
+        this.entries = entries;
+        this.index = index;
+        this.values = new String[entries.length / 3];
+    }
+
+    /**
+     * Reads language json with streaming parser.
+     * @param fallback table which is used for missing keys (null if there is none).
+     * @throws IOException if file cannot be read or json is malformed.
+     */
+    public static LanguageTable load(Path file, String locale, @Nullable LanguageTable fallback) throws IOException {
+        final StringBuilder packed = new StringBuilder(1 << 16);
+        int[] entries = new int[3 * 1024];
+        int count = 0;
+
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(file))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String key = reader.nextName();
+                final String value = reader.nextString();
+
+                if (3 * count + 3 > entries.length) entries = Arrays.copyOf(entries, entries.length * 2);
+                entries[3 * count] = packed.length();
+                entries[3 * count + 1] = key.length();
+                entries[3 * count + 2] = value.length();
+                packed.append(key).append(value);
+                count++;
+            }
+            reader.endObject();
+        }
+        catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException(file + " is malformed: " + e.getMessage(), e);
+        }
+
+        final char[] chars = new char[packed.length()];
+        packed.getChars(0, chars.length, chars, 0);
+
+        final int[] index = new int[Math.max(16, Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1)];
+        final LanguageTable table = new LanguageTable(locale, fallback, chars, Arrays.copyOf(entries, 3 * count), index);
+
+        for (int entry = 0; entry < count; entry++) table.insert(entry);
+        return table;
+    }
+
+    /**
+     * Adds entry to index. A duplicate key replaces the earlier entry (like in json objects).
+     */
+    private void insert(int entry){
+        final int start = entries[3 * entry];
+        final int length = entries[3 * entry + 1];
+
+        //Same hash as String#hashCode, so lookups can use the cached hash of the key string.
+        int hash = 0;
+        for (int i = start; i < start + length; i++) hash = 31 * hash + chars[i];
+
+        int slot = mix(hash) & (index.length - 1);
+        while (index[slot] != 0) {
+            final int other = index[slot] - 1;
+
+            if (entries[3 * other + 1] == length && Arrays.equals(chars, start, start + length, chars, entries[3 * other], entries[3 * other] + length)) {
+                break;
+            }
+            slot = (slot + 1) & (index.length - 1);
+        }
+        index[slot] = entry + 1;
+    }
+
+    private static int mix(int hash){
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return Returns entry of key or -1 if key is not in this table.
+     */
+    private int find(String key){
+        final int length = key.length();
+        int slot = mix(key.hashCode()) & (index.length - 1);
+
+        while (index[slot] != 0) {
+            final int entry = index[slot] - 1;
+
+            if (entries[3 * entry + 1] == length && matches(entries[3 * entry], key)) return entry;
+            slot = (slot + 1) & (index.length - 1);
+        }
+        return -1;
+    }
+
+    private boolean matches(int start, String key){
+        for (int i = 0; i < key.length(); i++){
+            if (chars[start + i] != key.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return Returns translation of key in this table (without fallback) or null if key is not in this table.
+     */
+    public @Nullable String getOwn(String key){
+        final int entry = find(key);
+        if (entry < 0) return null;
+
+        String value = values[entry];
+        if (value == null) {
+            value = new String(chars, entries[3 * entry] + entries[3 * entry + 1], entries[3 * entry + 2]);
+            values[entry] = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return Returns translation of key, translation of fallback or key itself if no table contains key.
+     */
+    public String get(String key){
+        for (LanguageTable table = this; table != null; table = table.fallback){
+            final String value = table.getOwn(key);
+            if (value != null) return value;
+        }
+        return key;
+    }
+
+    /**
+     * @return Returns if this table or fallback contains key.
+     */
+    public boolean contains(String key){
+        for (LanguageTable table = this; table != null; table = table.fallback){
+            if (table.find(key) >= 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Returns translation of key formatted with args (e.g. for "%s joined the game").
+     */
+    public String format(String key, Object... args){
+        return String.format(get(key), args);
+    }
+
+    /**
+     * @return Returns amount of entries in this table (without fallback).
+     */
+    public int size(){
+        return entries.length / 3;
+    }
+
+    /**
+     * @return Returns bytes of packed chars and index (without fallback and already created value strings).
+     */
+    public long byteSize(){
+        return 2L * chars.length + 4L * entries.length + 4L * index.length + 4L * values.length;
+    }
+}
@@ -0,0 +1,287 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.LoggerUtil;
+import com.google.gson.stream.JsonReader;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class handles blockstates and models of applied pack.
+ * All json files are parsed in parallel with a streaming parser into compact structures (BlockState, BlockModel).
+ * Parsed structures are stored in a cache file, keyed by a manifest hash of the json files,
+ * so warm starts only read one binary file.
+ *
+ * Cache file layout (DataOutput):
+ * header: magic (int), version (int), manifest hash (long)
+ * models: count (int), per model name (UTF) and BlockModel
+ * blockstates: count (int), per blockstate name (UTF) and BlockState
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class ModelManager {
+    public static final Logger LOGGER = LoggerUtil.getLogger("ModelManager");
+
+    /**
+     * Blockstates and models folders relative to resource folder.
+     */
+    public static final String BLOCKSTATES_PATH = "assets/minecraft/blockstates";
+    public static final String MODELS_PATH = "assets/minecraft/models";
+
+    /**
+     * Name of cache file in home directory.
+     */
+    public static final String CACHE_FILE = "model_cache.bin";
+
+    private static final int MAGIC = 0x4B584D43;
+    private static final int VERSION = 1;
+
+    /**
+     * Maximum depth of parent and texture variable references (protects against cycles).
+     */
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * Models by name without namespace (e.g. block/stone).
+     */
+    private static volatile Map<String, BlockModel> models = Map.of();
+
+    /**
+     * Blockstates by block name (e.g. oak_log).
+     */
+    private static volatile Map<String, BlockState> blockStates = Map.of();
+
+    /**
+     * Loads all blockstates and models of resource folder. Uses cache file if it belongs to the same pack,
+     * otherwise all json files will be parsed (in parallel) and cache file will be rebuilt.
+     * @throws IOException if an I/O error occurs while listing json files.
+     */
+    public static synchronized void loadModels(Path resourcePath, Path cacheFile) throws IOException {
+        final Path blockStatesPath = resourcePath.resolve(BLOCKSTATES_PATH);
+        final Path modelsPath = resourcePath.resolve(MODELS_PATH);
+
+        final List<Path> blockStateFiles = listJson(blockStatesPath);
+        final List<Path> modelFiles = listJson(modelsPath);
+
+        final List<Path> allFiles = new ArrayList<>(blockStateFiles);
+        allFiles.addAll(modelFiles);
+        final long manifestHash = TextureCache.manifestHash(resourcePath, allFiles);
+
+        final long start = System.nanoTime();
+        if (readCache(cacheFile, manifestHash)) {
+            LOGGER.log(Level.INFO, "Read " + models.size() + " cached models and " + blockStates.size() + " blockstates in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms.");
+            return;
+        }
+
+        final Map<String, BlockModel> parsedModels = new ConcurrentHashMap<>();
+        modelFiles.parallelStream().forEach(path -> {
+            final BlockModel model = parse(path, BlockModel::parse);
+            if (model != null) parsedModels.put(toName(modelsPath, path), model);
+        });
+
+        final Map<String, BlockState> parsedStates = new ConcurrentHashMap<>();
+        blockStateFiles.parallelStream().forEach(path -> {
+            final BlockState state = parse(path, BlockState::parse);
+            if (state != null) parsedStates.put(toName(blockStatesPath, path), state);
+        });
+
+        models = new HashMap<>(parsedModels);
+        blockStates = new HashMap<>(parsedStates);
+        LOGGER.log(Level.INFO, "Parsed " + models.size() + " models and " + blockStates.size() + " blockstates in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms.");
+
+        try {
+            writeCache(cacheFile, manifestHash);
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot write model cache.", e);
+        }
+    }
+
+    private interface StreamParser<T> {
+        T parse(JsonReader reader) throws IOException;
+    }
+
+    /**
+     * @return Returns parsed file or null if file cannot be read or is malformed.
+     */
+    private static <T> @Nullable T parse(Path path, StreamParser<T> parser){
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(path))) {
+            return parser.parse(reader);
+        }
+        catch (IOException | IllegalStateException | NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Cannot parse " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return Returns list of all json files in folder (empty if folder does not exist).
+     * @throws IOException if an I/O error occurs when opening the directory.
+     */
+    private static List<Path> listJson(Path path) throws IOException {
+        if (!path.toFile().isDirectory()) return List.of();
+
+        try (Stream<Path> walk = Files.walk(path)) {
+            return walk.filter(file -> file.toString().endsWith(".json"))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @return Returns name of json file (path relative to folder without extension, e.g. "block/stone").
+     */
+    private static String toName(Path folder, Path file){
+        final String name = folder.relativize(file).toString().replace('\\', '/');
+        return name.substring(0, name.length() - ".json".length());
+    }
+
+    /**
+     * @return Returns reference without "minecraft:" namespace.
+     */
+    static String stripNamespace(String reference){
+        return reference.startsWith("minecraft:") ? reference.substring("minecraft:".length()) : reference;
+    }
+
+    /**
+     * @return Returns true if cache file belongs to the same pack and was read completely.
+     */
+    private static boolean readCache(Path cacheFile, long manifestHash){
+        if (!cacheFile.toFile().isFile()) return false;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != manifestHash) return false;
+
+            final int modelCount = in.readInt();
+            final HashMap<String, BlockModel> cachedModels = new HashMap<>(modelCount * 2);
+            for (int i = 0; i < modelCount; i++) cachedModels.put(in.readUTF(), BlockModel.read(in));
+
+            final int stateCount = in.readInt();
+            final HashMap<String, BlockState> cachedStates = new HashMap<>(stateCount * 2);
+            for (int i = 0; i < stateCount; i++) cachedStates.put(in.readUTF(), BlockState.read(in));
+
+            models = cachedModels;
+            blockStates = cachedStates;
+            return true;
+        }
+        catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, cacheFile + " is corrupt.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes loaded models and blockstates into cache file. Old file will be replaced atomically.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    private static void writeCache(Path cacheFile, long manifestHash) throws IOException {
+        final Path tmp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(manifestHash);
+
+            out.writeInt(models.size());
+            for (Map.Entry<String, BlockModel> entry : models.entrySet()){
+                out.writeUTF(entry.getKey());
+                entry.getValue().write(out);
+            }
+
+            out.writeInt(blockStates.size());
+            for (Map.Entry<String, BlockState> entry : blockStates.entrySet()){
+                out.writeUTF(entry.getKey());
+                entry.getValue().write(out);
+            }
+        }
+
+        Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param name model without namespace (e.g. block/stone).
+     * @return Returns model or null if it does not exist.
+     */
+    public static @Nullable BlockModel getModel(String name){
+        return models.get(stripNamespace(name));
+    }
+
+    /**
+     * @param name block name (e.g. oak_log).
+     * @return Returns blockstate or null if it does not exist.
+     */
+    public static @Nullable BlockState getBlockState(String name){
+        return blockStates.get(stripNamespace(name));
+    }
+
+    /**
+     * Resolves texture variable of model. Variable is searched in model and its parents,
+     * references to other variables (e.g. #all) are followed.
+     * @param model model without namespace (e.g. block/stone).
+     * @param variable texture variable (e.g. all, side or particle).
+     * @return Returns texture key (e.g. block/stone.png) or null if variable cannot be resolved.
+     */
+    public static @Nullable String resolveTexture(String model, String variable){
+        String current = variable;
+
+        for (int depth = 0; depth < MAX_DEPTH; depth++){
+            final String value = findTexture(stripNamespace(model), current);
+            if (value == null) return null;
+            if (!value.startsWith("#")) return value + ".png";
+
+            current = value.substring(1);
+        }
+        return null;
+    }
+
+    /**
+     * @return Returns value of texture variable in model or its nearest parent which defines it.
+     */
+    private static @Nullable String findTexture(String name, String variable){
+        for (int depth = 0; depth < MAX_DEPTH && name != null; depth++){
+            final BlockModel model = models.get(name);
+            if (model == null) return null;
+
+            final String value = model.getTexture(variable);
+            if (value != null) return value;
+
+            name = model.getParent();
+        }
+        return null;
+    }
+
+    public static boolean isLoaded(){
+        return !models.isEmpty() || !blockStates.isEmpty();
+    }
+
+    public static int getModelCount(){
+        return models.size();
+    }
+
+    public static int getBlockStateCount(){
+        return blockStates.size();
+    }
+
+    /**
+     * Releases loaded models and blockstates. Cache file stays on disk.
+     */
+    public static synchronized void clear(){
+        models = Map.of();
+        blockStates = Map.of();
+    }
+}
@@ -1,19 +1,21 @@
 package com.github.kailex.api.resourcepack;
 
+import com.github.kailex.api.util.FxUtils;
 import com.github.kailex.api.util.LoggerUtil;
 import com.github.kailex.api.util.Tickable;
 import com.github.kailex.api.util.Tuple;
 import com.github.kailex.api.util.files.*;
 import com.github.kailex.fxWindow.KailexApp;
 import com.github.kailex.fxWindow.LoadingScreenController;
-import javafx.application.Platform;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,7 +23,7 @@ import java.util.logging.Logger;
  * This class handles all basic resourcepack management features and offers methods to load resourcepacks.
  *
  * @author Alexander Ley
- * @version 1.0
+ * @version 1.8
  */
 public class ResourcepackManager {
     public static final Logger LOGGER = LoggerUtil.getLogger("ResourcepackManager");
@@ -38,17 +40,17 @@ public class ResourcepackManager {
     /**
      * This method install default pack (on separate thread) if it does not exist or if it needs an update.
      * To install default pack will be downloaded into resourcepack folder, and it will be renamed to "default_pack.zip".
-     * @return Returns latch which marks if downloading is ready.
+     * @return Returns future which completes when downloading is ready (exceptionally if downloading failed).
      * @throws IOException if an I/O error occurs or the parent directory does not exist or if method cannot wait for runnable.
      */
-    public static CountDownLatch installDefaultPack() throws IOException {
+    public static CompletableFuture<Void> installDefaultPack() throws IOException {
         final Path resourcePackPath = validate("resourcepack", false);
         final Path defaultPack = resourcePackPath.resolve("default_pack");
-        final CountDownLatch readyLatch = new CountDownLatch(1);
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
 
         if (defaultPack.toFile().exists() && FileUtil.getSize(defaultPack, false) == UNZIPPED_SIZE) {
-            readyLatch.countDown();
-            return readyLatch;
+            ready.complete(null);
+            return ready;
         }
 
         FileUtil.deleteDirectory(defaultPack);
@@ -63,28 +65,26 @@ public class ResourcepackManager {
 
                 try {
                     internLatch.await();
-                    assert !downloader.isFailure();
                 }
                 catch (InterruptedException e) {
                     throw new IOException("Cannot download pack.");
                 }
+                if (downloader.isFailure()) throw new IOException("Cannot download pack.");
 
                 //Finishing up.
                 showProgress("Renaming files", -1);
                 if (!FileUtil.rename(downloader.getDestination(), "default_pack.zip")){
                     throw new IOException("Cannot rename pack.");
                 }
+                ready.complete(null);
             }
-            catch (IOException e){
-                throw new RuntimeException(e.getMessage(), e);
-            }
-            finally {
-                readyLatch.countDown();
+            catch (IOException | RuntimeException e){
+                ready.completeExceptionally(e);
             }
         });
         action.start();
 
-        return readyLatch;
+        return ready;
     }
 
     /**
@@ -110,32 +110,22 @@ public class ResourcepackManager {
     /**
      * Apply default pack, by installing it if needed, extracting it and moving it into target resource folder.
      * @param force if true method load pack in every case and if false pack will not be loaded if it is already loaded.
-     * @return Returns latch which marks if applying is ready.
+     * @return Returns future which completes when applying is ready (exceptionally if applying failed).
      * @throws IOException if an I/O error occurs or the parent directory does not exist or if method cannot wait for runnable.
      */
-    public static CountDownLatch applyDefaultPack(boolean force) throws IOException {
+    public static CompletableFuture<Void> applyDefaultPack(boolean force) throws IOException {
         final Path resourcePath = validate("resource", false);
         final Path resourcePackPath = validate("resourcepack", false);
         final Path pack = resourcePackPath.resolve("default_pack.zip");
-        final CountDownLatch readyLatch = new CountDownLatch(1);
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
 
         clearAssets();
 
         Thread action = new Thread(() -> {
             try {
-                CountDownLatch internLatch;
-
                 if (!pack.toFile().exists() || Files.size(pack) != ZIP_SIZE){
                     Files.deleteIfExists(pack);
-
-                    internLatch = installDefaultPack();
-
-                    try {
-                        internLatch.await();
-                    }
-                    catch (InterruptedException e) {
-                        throw new IOException("Cannot install default pack.");
-                    }
+                    await(installDefaultPack(), "install default pack");
                 }
 
                 if (FileUtil.getDirectorySize(resourcePath, false) == UNZIPPED_SIZE
@@ -143,7 +133,7 @@ public class ResourcepackManager {
                         && !force
                         && KailexApp.GAME_SETTINGS.getActiveResourcepack().equals(pack.toFile().getName())) {
                     LOGGER.log(Level.INFO, "Resourcepack is already selected.");
-                    readyLatch.countDown();
+                    ready.complete(null);
                     return;
                 }
 
@@ -162,17 +152,15 @@ public class ResourcepackManager {
                 startAndWait(new DirectoryContentMover(extractPath, resourcePath), "Moving files");
 
                 KailexApp.GAME_SETTINGS.setActiveResourcepack("default_pack.zip");
+                ready.complete(null);
             }
-            catch (IOException e){
-                throw new RuntimeException(e.getMessage(), e);
-            }
-            finally {
-                readyLatch.countDown();
+            catch (IOException | RuntimeException e){
+                ready.completeExceptionally(e);
             }
         });
         action.start();
 
-        return readyLatch;
+        return ready;
     }
 
     /**
@@ -180,24 +168,23 @@ public class ResourcepackManager {
      * Applying means to delete old assets in target resource folder, extract or move,
      * depending on whether pack is an archive or a folder, into target resource folder.
      * @param force if true method load pack in every case and if false pack will not be loaded if it is already loaded.
-     * @return Returns latch which marks if applying is ready.
+     * @return Returns future which completes when applying is ready (exceptionally if applying failed).
      * @throws IOException if an I/O error occurs or the parent directory does not exist or if method cannot wait for runnable.
      */
-    public static CountDownLatch applyPack(Path pack, boolean force) throws IOException {
+    public static CompletableFuture<Void> applyPack(Path pack, boolean force) throws IOException {
         if (pack.toFile().getName().equals("default_pack.zip")) return applyDefaultPack(force);
 
         final Path resourcePath = validate("resource", false);
-        final CountDownLatch readyLatch = new CountDownLatch(1);
 
        if (!pack.toFile().exists()) throw new IllegalArgumentException(pack + " does not exists.");
        else if (!FileUtil.isPathEmpty(resourcePath)
                 && !force
                 && KailexApp.GAME_SETTINGS.getActiveResourcepack().equals(pack.toFile().getName())){
             LOGGER.log(Level.INFO, "Resourcepack is already selected.");
-            readyLatch.countDown();
-            return readyLatch;
+            return CompletableFuture.completedFuture(null);
         }
 
+        final CompletableFuture<Void> ready = new CompletableFuture<>();
         clearAssets();
 
         Thread action = new Thread(() -> {
@@ -222,17 +209,15 @@ public class ResourcepackManager {
                 startAndWait(runnable, "Applying Pack");
 
                 KailexApp.GAME_SETTINGS.setActiveResourcepack(pack.toFile().getName());
+                ready.complete(null);
             }
-            catch (IOException e){
-                throw new RuntimeException(e.getMessage(), e);
-            }
-            finally {
-                readyLatch.countDown();
+            catch (IOException | RuntimeException e){
+                ready.completeExceptionally(e);
             }
         });
         action.start();
 
-        return readyLatch;
+        return ready;
     }
 
     /**
@@ -246,7 +231,7 @@ public class ResourcepackManager {
     /**
      * Starts IProgressRunnable and wait until finnished.
      * @param msg Message to loading screen.
-     * @throws IOException if method cannot wait for runnable.
+     * @throws IOException if method cannot wait for runnable or runnable failed.
      */
     public static void startAndWait(IProgressRunnable runnable, String msg) throws IOException {
         CountDownLatch internLatch = monitorAction(runnable, msg);
@@ -254,11 +239,30 @@ public class ResourcepackManager {
 
         try {
             internLatch.await();
-            assert !runnable.isFailure();
         }
         catch (InterruptedException e) {
             throw new IOException("Cannot: " + msg);
         }
+        if (runnable.isFailure()) throw new IOException("Cannot: " + msg);
+    }
+
+    /**
+     * Waits until future of applyPack(...), applyDefaultPack(...) or installDefaultPack() is completed.
+     * @param msg action of future for error message (e.g. "apply pack").
+     * @throws IOException if action failed or method cannot wait for it.
+     */
+    public static void await(CompletableFuture<Void> future, String msg) throws IOException {
+        try {
+            future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Cannot " + msg + ".");
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Cannot " + msg + ".", e.getCause());
+        }
     }
 
     /**
@@ -296,22 +300,56 @@ public class ResourcepackManager {
 
     /**
      * Put data in LoadingScreenController if controller is active.
+     * Updates are coalesced, so only latest text and progress are shown if many updates arrive at once.
      * @param text Information about process.
      * @param progress [0.0,1.0] progress of progressbar (negative values are allowed -> fancy behaviour; values above 1.0 have same effect as 1.0)
      */
     public static void showProgress(@NotNull String text, int progress){
-        if (KailexApp.activeController instanceof LoadingScreenController){
-            LoadingScreenController controller = (LoadingScreenController) KailexApp.activeController.getInstance();
+        FxUtils.UPDATES.post("progress.text", text, value -> {
+            final LoadingScreenController controller = getLoadingScreen();
+            if (controller != null) controller.setText(value);
+        });
+        FxUtils.UPDATES.post("progress.value", progress, value -> {
+            final LoadingScreenController controller = getLoadingScreen();
+            if (controller != null) controller.setProgress(value);
+        });
+    }
 
-            Platform.runLater(() -> controller.setData(text, progress));
-        }
+    /**
+     * @return Returns active loading screen or null if another scene is active.
+     */
+    private static @Nullable LoadingScreenController getLoadingScreen(){
+        return (KailexApp.activeController instanceof LoadingScreenController) ? (LoadingScreenController) KailexApp.activeController.getInstance() : null;
     }
 
     public static void clearAssets(){
-        //TODO: Implement
+        SpriteSheet.clearTextures();
+        BitmapFont.clearDefault();
+        TextureManager.clear();
+        ModelManager.clear();
+        LanguageManager.clear();
+        SoundManager.clear();
     }
 
-    public static void loadAssets(){
-        //TODO: Implement
+    /**
+     * Loads all assets of resource folder. Decoded textures are cached in home directory.
+     * @throws IOException if an I/O error occurs while reading assets.
+     */
+    public static void loadAssets() throws IOException {
+        final Path resourcePath = validate("resource", false);
+
+        TextureManager.loadTextures(resourcePath, KailexApp.HOME_DIR.resolve(TextureManager.CACHE_FILE));
+        ModelManager.loadModels(resourcePath, KailexApp.HOME_DIR.resolve(ModelManager.CACHE_FILE));
+        LanguageManager.loadLanguage(resourcePath, KailexApp.GAME_SETTINGS.getLanguage());
+        SoundManager.loadSounds(resourcePath);
+        finishAssets();
+    }
+
+    /**
+     * Pins textures which are always needed and starts animations. Call it after all assets are loaded.
+     */
+    public static void finishAssets(){
+        TextureManager.GUI_ESSENTIALS.forEach(TextureManager.RESIDENCY::pin);
+        TextureManager.ANIMATION_CLOCK.startIfReady();
     }
 }
@@ -0,0 +1,159 @@
+package com.github.kailex.api.resourcepack;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class is one sound event of sounds.json (e.g. block.stone.break) with its weighted sound variants.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class SoundEvent {
+
+    @Getter private final String name;
+
+    /**
+     * Category of event (e.g. block, music or ambient). Null if sounds.json does not define it.
+     */
+    @Getter private final @Nullable String category;
+
+    private final Sound[] sounds;
+    private final int totalWeight;
+
+    public SoundEvent(String name, @Nullable String category, Sound[] sounds) {
+        this.name = name;
+        this.category = category;
+        this.sounds = sounds;
+
+        int weight = 0;
+        for (Sound sound : sounds) weight += sound.weight;
+        this.totalWeight = weight;
+    }
+
+    /**
+     * Reads one event object of sounds.json with streaming parser.
+     * @throws IOException if json is malformed.
+     */
+    public static SoundEvent parse(String name, JsonReader reader) throws IOException {
+        String category = null;
+        final List<Sound> sounds = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "category":
+                    category = reader.nextString();
+                    break;
+                case "sounds":
+                    reader.beginArray();
+                    while (reader.hasNext()) sounds.add(readSound(reader));
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new SoundEvent(name, category, sounds.toArray(new Sound[0]));
+    }
+
+    /**
+     * Reads a sound, which is either a path or an object with name, volume, pitch, weight, stream and type.
+     */
+    private static Sound readSound(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) return new Sound(ModelManager.stripNamespace(reader.nextString()), 1, 1, 1, false, false);
+
+        String soundName = null;
+        float volume = 1;
+        float pitch = 1;
+        int weight = 1;
+        boolean stream = false;
+        boolean event = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    soundName = ModelManager.stripNamespace(reader.nextString());
+                    break;
+                case "volume":
+                    volume = (float) reader.nextDouble();
+                    break;
+                case "pitch":
+                    pitch = (float) reader.nextDouble();
+                    break;
+                case "weight":
+                    weight = Math.max(1, reader.nextInt());
+                    break;
+                case "stream":
+                    stream = reader.nextBoolean();
+                    break;
+                case "type":
+                    event = reader.nextString().equals("event");
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (soundName == null) throw new IOException("Sound has no name.");
+        return new Sound(soundName, volume, pitch, weight, stream, event);
+    }
+
+    /**
+     * @return Returns random sound variant (chosen by weight) or null if event has no sounds.
+     */
+    public @Nullable Sound pick(){
+        if (sounds.length == 0) return null;
+
+        int remaining = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Sound sound : sounds){
+            remaining -= sound.weight;
+            if (remaining < 0) return sound;
+        }
+        return sounds[sounds.length - 1];
+    }
+
+    public int getSoundCount(){
+        return sounds.length;
+    }
+
+    public Sound getSound(int index){
+        return sounds[index];
+    }
+
+    /**
+     * One sound variant of an event.
+     */
+    @Getter
+    public static class Sound {
+        /**
+         * Path relative to sounds folder without extension (e.g. dig/stone1) or name of another event if isEvent().
+         */
+        private final String name;
+        private final float volume;
+        private final float pitch;
+        private final int weight;
+        private final boolean stream;
+        private final boolean event;
+
+        public Sound(String name, float volume, float pitch, int weight, boolean stream, boolean event) {
+            this.name = name;
+            this.volume = volume;
+            this.pitch = pitch;
+            this.weight = weight;
+            this.stream = stream;
+            this.event = event;
+        }
+    }
+}
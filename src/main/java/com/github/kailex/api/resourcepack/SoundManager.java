@@ -0,0 +1,252 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.LoggerUtil;
+import com.google.gson.stream.JsonReader;
+import javafx.scene.media.AudioClip;
+import javafx.scene.media.MediaException;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class handles sounds of applied pack. Sound events are indexed from sounds.json,
+ * clips are loaded on first play and kept in a least recently used cache within a byte budget.
+ * Concurrently playing sounds are limited by a VoicePool.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class SoundManager {
+    public static final Logger LOGGER = LoggerUtil.getLogger("SoundManager");
+
+    /**
+     * Sounds index and sounds folder relative to resource folder.
+     */
+    public static final String SOUNDS_JSON = "assets/minecraft/sounds.json";
+    public static final String SOUNDS_PATH = "assets/minecraft/sounds";
+
+    /**
+     * Extensions which are tried in this order. JavaFx cannot play ogg, so converted files are preferred.
+     */
+    public static final String[] EXTENSIONS = {".wav", ".mp3", ".m4a", ".ogg"};
+
+    public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+    public static final int DEFAULT_VOICES = 32;
+    public static final int DEFAULT_PRIORITY = 0;
+
+    /**
+     * Maximum depth of events which reference other events.
+     */
+    private static final int MAX_DEPTH = 8;
+
+    public static final VoicePool VOICES = new VoicePool(DEFAULT_VOICES);
+
+    /**
+     * Priority of sounds per category (e.g. music is never replaced by block sounds).
+     */
+    private static final Map<String, Integer> CATEGORY_PRIORITIES = Map.of(
+            "master", 10, "music", 9, "record", 8, "voice", 7, "player", 6,
+            "hostile", 5, "neutral", 4, "block", 3, "weather", 2, "ambient", 1);
+
+    private static volatile Map<String, SoundEvent> events = Map.of();
+    private static volatile @Nullable Path soundsPath;
+
+    /**
+     * Loaded clips by sound name in access order (eldest first).
+     */
+    private static final LinkedHashMap<String, AudioClip> CLIPS = new LinkedHashMap<>(64, 0.75f, true);
+    private static final HashMap<String, Long> CLIP_SIZES = new HashMap<>();
+
+    /**
+     * Sounds which have no file or cannot be decoded (e.g. ogg), so they are not searched and logged again.
+     */
+    private static final HashSet<String> UNPLAYABLE = new HashSet<>();
+
+    @Getter private static long budget = DEFAULT_BUDGET;
+    @Getter private static long loadedBytes;
+
+    /**
+     * Indexes sound events of resource folder. No clip is loaded.
+     * @throws IOException if sounds.json cannot be read or is malformed.
+     */
+    public static synchronized void loadSounds(Path resourcePath) throws IOException {
+        clear();
+
+        final Path index = resourcePath.resolve(SOUNDS_JSON);
+        soundsPath = resourcePath.resolve(SOUNDS_PATH);
+        if (!index.toFile().isFile()) {
+            LOGGER.log(Level.WARNING, "Pack has no sounds.json.");
+            return;
+        }
+
+        final HashMap<String, SoundEvent> parsed = new HashMap<>();
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(index))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                final String name = reader.nextName();
+                parsed.put(name, SoundEvent.parse(name, reader));
+            }
+            reader.endObject();
+        }
+        catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException(index + " is malformed: " + e.getMessage(), e);
+        }
+
+        events = parsed;
+        LOGGER.log(Level.INFO, "Indexed " + parsed.size() + " sound events.");
+    }
+
+    /**
+     * Plays event with priority of its category.
+     * @param event e.g. block.stone.break.
+     * @return Returns false if event does not exist, clip cannot be loaded or sound was dropped by VOICES.
+     */
+    public static boolean play(String event){
+        return play(event, 1, 1, -1);
+    }
+
+    /**
+     * Plays event.
+     * @param volume multiplied with volume of sound variant.
+     * @param pitch multiplied with pitch of sound variant.
+     * @param priority priority in VOICES (-1 for priority of category).
+     * @return Returns false if event does not exist, clip cannot be loaded or sound was dropped by VOICES.
+     */
+    public static boolean play(String event, double volume, double pitch, int priority){
+        SoundEvent current = events.get(event);
+
+        for (int depth = 0; depth < MAX_DEPTH && current != null; depth++){
+            final SoundEvent.Sound sound = current.pick();
+            if (sound == null) return false;
+
+            //Sound refers to another event.
+            if (sound.isEvent()) {
+                current = events.get(sound.getName());
+                continue;
+            }
+
+            final AudioClip clip = getClip(sound.getName());
+            if (clip == null) return false;
+
+            final int voicePriority = (priority >= 0) ? priority
+                    : CATEGORY_PRIORITIES.getOrDefault(current.getCategory(), DEFAULT_PRIORITY);
+            return VOICES.play(clip, volume * sound.getVolume(), pitch * sound.getPitch(), voicePriority);
+        }
+        return false;
+    }
+
+    /**
+     * Returns clip of sound. Clip is loaded on first use and least recently used clips are released if budget is exceeded.
+     * @param name sound path relative to sounds folder without extension (e.g. dig/stone1).
+     * @return Returns clip or null if sound file does not exist or cannot be played.
+     */
+    public static synchronized @Nullable AudioClip getClip(String name){
+        AudioClip clip = CLIPS.get(name);
+        if (clip != null) return clip;
+        if (UNPLAYABLE.contains(name)) return null;
+
+        final Path file = findFile(name);
+        if (file == null) {
+            UNPLAYABLE.add(name);
+            return null;
+        }
+
+        try {
+            clip = new AudioClip(file.toUri().toString());
+        }
+        catch (MediaException e) {
+            UNPLAYABLE.add(name);
+            LOGGER.log(Level.WARNING, "Cannot play " + file + ": " + e.getMessage());
+            return null;
+        }
+
+        //Decoded size is unknown, so file size is used as estimate.
+        final long size = file.toFile().length();
+        CLIPS.put(name, clip);
+        CLIP_SIZES.put(name, size);
+        loadedBytes += size;
+        evict(name);
+
+        return clip;
+    }
+
+    private static @Nullable Path findFile(String name){
+        final Path folder = soundsPath;
+        if (folder == null) return null;
+
+        for (String extension : EXTENSIONS){
+            final Path file = folder.resolve(name + extension);
+            if (file.toFile().isFile()) return file;
+        }
+        return null;
+    }
+
+    /**
+     * Releases least recently used clips (which are not playing) until loaded bytes are within budget.
+     * @param keep clip which must not be released.
+     */
+    private static void evict(@Nullable String keep){
+        final Iterator<Map.Entry<String, AudioClip>> iterator = CLIPS.entrySet().iterator();
+
+        while (loadedBytes > budget && iterator.hasNext()) {
+            final Map.Entry<String, AudioClip> entry = iterator.next();
+            if (entry.getKey().equals(keep) || entry.getValue().isPlaying()) continue;
+
+            loadedBytes -= CLIP_SIZES.remove(entry.getKey());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Sets budget and releases clips if needed.
+     */
+    public static synchronized void setBudget(long budget){
+        if (budget <= 0) throw new IllegalArgumentException(budget + " is not a valid budget.");
+
+        SoundManager.budget = budget;
+        evict(null);
+    }
+
+    public static boolean containsEvent(String event){
+        return events.containsKey(event);
+    }
+
+    public static @Nullable SoundEvent getEvent(String event){
+        return events.get(event);
+    }
+
+    public static Set<String> getEvents(){
+        return events.keySet();
+    }
+
+    /**
+     * @return Returns amount of loaded clips.
+     */
+    public static synchronized int getLoadedClips(){
+        return CLIPS.size();
+    }
+
+    /**
+     * Stops all sounds and releases index and clips.
+     */
+    public static synchronized void clear(){
+        VOICES.stopAll();
+        CLIPS.clear();
+        CLIP_SIZES.clear();
+        UNPLAYABLE.clear();
+        loadedBytes = 0;
+        events = Map.of();
+        soundsPath = null;
+    }
+}
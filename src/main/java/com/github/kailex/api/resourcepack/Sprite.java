@@ -0,0 +1,91 @@
+package com.github.kailex.api.resourcepack;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This class is a view on a region (source rectangle) of a sprite sheet. No pixels are copied,
+ * the region is drawn directly from the sheet. A separate image is only created if toImage() is called.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class Sprite {
+
+    @Getter private final Image sheet;
+    @Getter private final int x;
+    @Getter private final int y;
+    @Getter private final int width;
+    @Getter private final int height;
+
+    @Nullable
+    private WritableImage image;
+
+    /**
+     * @throws IllegalArgumentException if region is not inside of sheet.
+     */
+    public Sprite(Image sheet, int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || width <= 0 || height <= 0 || x + width > sheet.getWidth() || y + height > sheet.getHeight()) {
+            throw new IllegalArgumentException(x + ", " + y + ", " + width + "x" + height + " is not in sheet.");
+        }
+
+        this.sheet = sheet;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @return Returns source rectangle (e.g. for ImageView#setViewport).
+     */
+    public Rectangle2D getViewport(){
+        return new Rectangle2D(x, y, width, height);
+    }
+
+    /**
+     * Draws sprite with source rectangle overload of drawImage.
+     */
+    public void draw(GraphicsContext gc, double dx, double dy, double dw, double dh){
+        gc.drawImage(sheet, x, y, width, height, dx, dy, dw, dh);
+    }
+
+    /**
+     * Draws sprite in its original size.
+     */
+    public void draw(GraphicsContext gc, double dx, double dy){
+        draw(gc, dx, dy, width, height);
+    }
+
+    /**
+     * Shows sprite in image view using sheet and viewport (no copy).
+     */
+    public void applyTo(ImageView view){
+        view.setImage(sheet);
+        view.setViewport(getViewport());
+    }
+
+    /**
+     * Use this only if a separate image is truly needed (e.g. as background image).
+     * @return Returns region as own image. Image is created once and cached.
+     */
+    public Image toImage(){
+        if (image == null) image = new WritableImage(sheet.getPixelReader(), x, y, width, height);
+        return image;
+    }
+
+    /**
+     * @return Returns sub region relative to this sprite.
+     */
+    public Sprite region(int relX, int relY, int regionWidth, int regionHeight){
+        if (relX + regionWidth > width || relY + regionHeight > height) {
+            throw new IllegalArgumentException(relX + ", " + relY + ", " + regionWidth + "x" + regionHeight + " is not in sprite.");
+        }
+        return new Sprite(sheet, x + relX, y + relY, regionWidth, regionHeight);
+    }
+}
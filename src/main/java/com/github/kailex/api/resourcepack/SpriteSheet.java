@@ -0,0 +1,126 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.ImageUtil;
+import com.github.kailex.api.util.image.Raster;
+import javafx.scene.image.Image;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class loads a sprite sheet (e.g. widgets.png, icons.png or font sheets) once and hands out Sprite views of its regions.
+ * Sheets are cached, so all GUI screens share the same sheet image.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class SpriteSheet {
+
+    /**
+     * Sheets from application resources (e.g. "images/mojangstudios.png").
+     */
+    private static final Map<String, SpriteSheet> RESOURCE_SHEETS = new ConcurrentHashMap<>();
+
+    /**
+     * Sheets from applied resourcepack (e.g. "gui/widgets.png"). Cleared if pack changes.
+     */
+    private static final Map<String, SpriteSheet> TEXTURE_SHEETS = new ConcurrentHashMap<>();
+
+    @Getter private final Image image;
+
+    /**
+     * Named regions.
+     */
+    private final HashMap<String, Sprite> sprites = new HashMap<>();
+
+    public SpriteSheet(Image image) {
+        this.image = image;
+    }
+
+    /**
+     * @param name path to sheet in resource folder (e.g. images/mojangstudios.png).
+     * @return Returns shared sheet. Sheet is loaded on first call.
+     * @throws IOException if sheet cannot found or cannot load.
+     */
+    public static SpriteSheet get(String name) throws IOException {
+        SpriteSheet sheet = RESOURCE_SHEETS.get(name);
+
+        if (sheet == null) {
+            sheet = new SpriteSheet(ImageUtil.loadImage(name));
+            final SpriteSheet other = RESOURCE_SHEETS.putIfAbsent(name, sheet);
+            if (other != null) sheet = other;
+        }
+        return sheet;
+    }
+
+    /**
+     * @param key texture key of applied pack (e.g. gui/widgets.png).
+     * @return Returns shared sheet or null if texture does not exist. Sheet is loaded on first call.
+     */
+    public static @Nullable SpriteSheet getTexture(String key){
+        return TEXTURE_SHEETS.computeIfAbsent(key, k -> {
+            final Raster raster = TextureManager.getRaster(k);
+            return (raster == null) ? null : new SpriteSheet(ImageUtil.toImage(raster));
+        });
+    }
+
+    /**
+     * Releases all sheets of applied pack.
+     */
+    public static void clearTextures(){
+        TEXTURE_SHEETS.clear();
+    }
+
+    /**
+     * @return Returns view of region (no pixels are copied).
+     */
+    public Sprite sprite(int x, int y, int width, int height){
+        return new Sprite(image, x, y, width, height);
+    }
+
+    /**
+     * Defines a named region, so it can be accessed by name later.
+     * @return Returns defined sprite.
+     */
+    public synchronized Sprite define(String name, int x, int y, int width, int height){
+        final Sprite sprite = sprite(x, y, width, height);
+        sprites.put(name, sprite);
+        return sprite;
+    }
+
+    /**
+     * @return Returns named region or null if it was not defined.
+     */
+    public synchronized @Nullable Sprite getSprite(String name){
+        return sprites.get(name);
+    }
+
+    /**
+     * Splits sheet into a grid of equally sized cells.
+     * @return Returns cells in row major order.
+     */
+    public Sprite[] grid(int cellWidth, int cellHeight){
+        final int columns = (int) image.getWidth() / cellWidth;
+        final int rows = (int) image.getHeight() / cellHeight;
+        final Sprite[] cells = new Sprite[columns * rows];
+
+        for (int row = 0; row < rows; row++){
+            for (int col = 0; col < columns; col++){
+                cells[row * columns + col] = sprite(col * cellWidth, row * cellHeight, cellWidth, cellHeight);
+            }
+        }
+        return cells;
+    }
+
+    public int getWidth(){
+        return (int) image.getWidth();
+    }
+
+    public int getHeight(){
+        return (int) image.getHeight();
+    }
+}
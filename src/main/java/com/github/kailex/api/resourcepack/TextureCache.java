@@ -0,0 +1,450 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.LoggerUtil;
+import com.github.kailex.api.util.image.PalettedRaster;
+import com.github.kailex.api.util.image.Raster;
+import com.github.kailex.api.util.image.TextureData;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * This class stores decoded textures in one binary file, which is memory-mapped on later launches,
+ * so that warm starts do not have to decode any png.
+ * The file is keyed by a manifest hash of the applied pack. If the hash does not match the cache is invalid.
+ * Every pack gets its own file (hash in file name), so a new cache never replaces a file which may still be mapped
+ * (mapped files cannot be replaced or deleted on Windows). Files of other packs are deleted when possible.
+ *
+ * File layout (big endian):
+ * header: magic (int), version (int), manifest hash (long), entry count (int)
+ * index: per entry key length (short), key (UTF-8), width (int), height (int), bits per index (byte), palette size (short), data offset (long)
+ * data: every unique texture, padded to 4 bytes. Duplicate textures share the same data offset.
+ *       Textures with at most 256 colors are stored as ARGB palette (int) and packed indices (see PalettedRaster, bits 1, 2, 4 or 8),
+ *       all others as ARGB pixels (int, bits 0). Paletted textures are only expanded when they are read.
+ *
+ * @author Alexander Ley
+ * @version 1.3
+ */
+public class TextureCache {
+    public static final Logger LOGGER = LoggerUtil.getLogger("TextureCache");
+
+    private static final int MAGIC = 0x4B585443;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 20;
+
+    private final MappedByteBuffer buffer;
+    private final HashMap<String, Entry> index;
+
+    /**
+     * Maps keys of duplicate textures to key of first texture with same data.
+     */
+    private final HashMap<String, String> aliases;
+
+    @Getter private final long manifestHash;
+
+    /**
+     * Bytes which are saved because duplicate textures share their data.
+     */
+    @Getter private final long deduplicatedBytes;
+
+    private TextureCache(MappedByteBuffer buffer, HashMap<String, Entry> index, HashMap<String, String> aliases, long manifestHash) {
+        this.buffer = buffer;
+        this.index = index;
+        this.aliases = aliases;
+        this.manifestHash = manifestHash;
+        this.deduplicatedBytes = aliases.keySet().stream().mapToLong(this::byteSize).sum();
+    }
+
+    /**
+     * Opens and maps cache file of pack. Header is validated before the file is mapped,
+     * so an invalid file is never mapped and can be replaced.
+     * @param cacheFile base path of cache file (see getFile(...)).
+     * @param manifestHash expected hash of the applied pack.
+     * @return Returns cache or null if file does not exist, is corrupt or was built for another pack.
+     * @throws IOException if an I/O error occurs while mapping the file.
+     */
+    public static @Nullable TextureCache open(Path cacheFile, long manifestHash) throws IOException {
+        final Path file = getFile(cacheFile, manifestHash);
+        if (!file.toFile().isFile()) return null;
+
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) return null;
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) return null;
+            }
+            header.flip();
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) return null;
+            if (header.getLong() != manifestHash) {
+                LOGGER.log(Level.INFO, "Texture cache belongs to another pack.");
+                return null;
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            buffer.position(HEADER_SIZE - 4);
+            final int count = buffer.getInt();
+            final HashMap<String, Entry> index = new HashMap<>(count * 2);
+            final HashMap<String, String> aliases = new HashMap<>();
+            final HashMap<Long, String> keysByOffset = new HashMap<>(count * 2);
+
+            for (int i = 0; i < count; i++){
+                final byte[] encoded = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(encoded);
+
+                final Entry entry = new Entry(buffer.getInt(), buffer.getInt(), buffer.get(), buffer.getShort(), buffer.getLong());
+                if (!entry.isValid() || entry.offset < HEADER_SIZE || entry.offset + entry.byteSize() > buffer.capacity()) return null;
+
+                final String key = new String(encoded, StandardCharsets.UTF_8);
+                final String first = keysByOffset.putIfAbsent(entry.offset, key);
+                if (first != null) aliases.put(key, first);
+
+                index.put(key, entry);
+            }
+
+            return new TextureCache(buffer, index, aliases, manifestHash);
+        }
+        catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, file + " is corrupt.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes textures into cache file of pack and deletes cache files of other packs.
+     * Keys which map to the same raster instance share their pixel data in file.
+     * Textures are stored paletted if it is smaller (see PalettedRaster.compress(...)).
+     * @param cacheFile base path of cache file (see getFile(...)).
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public static void write(Path cacheFile, long manifestHash, Map<String, Raster> textures) throws IOException {
+        final List<String> keys = new ArrayList<>(textures.keySet());
+        Collections.sort(keys);
+
+        final List<byte[]> encodedKeys = new ArrayList<>(keys.size());
+        long headerSize = HEADER_SIZE;
+        for (String key : keys){
+            final byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+            if (encoded.length > 0xFFFF) throw new IllegalArgumentException(key + " is too long.");
+
+            encodedKeys.add(encoded);
+            headerSize += 2 + encoded.length + 19;
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(Math.toIntExact(headerSize));
+        header.putInt(MAGIC).putInt(VERSION).putLong(manifestHash).putInt(keys.size());
+
+        //Unique textures (paletted if possible) in order of their data offset.
+        final IdentityHashMap<Raster, Long> offsets = new IdentityHashMap<>();
+        final IdentityHashMap<Raster, TextureData> stored = new IdentityHashMap<>();
+        final List<TextureData> unique = new ArrayList<>();
+
+        long offset = pad(headerSize);
+        for (int i = 0; i < keys.size(); i++){
+            final Raster raster = textures.get(keys.get(i));
+
+            Long rasterOffset = offsets.get(raster);
+            if (rasterOffset == null) {
+                final TextureData data = PalettedRaster.compressIfPossible(raster);
+
+                rasterOffset = offset;
+                offsets.put(raster, offset);
+                stored.put(raster, data);
+                unique.add(data);
+                offset += pad(data.byteSize());
+            }
+
+            final TextureData data = stored.get(raster);
+            final PalettedRaster paletted = (data instanceof PalettedRaster) ? (PalettedRaster) data : null;
+
+            header.putShort((short) encodedKeys.get(i).length).put(encodedKeys.get(i))
+                    .putInt(raster.getWidth()).putInt(raster.getHeight())
+                    .put((byte) ((paletted == null) ? 0 : paletted.getBits()))
+                    .putShort((short) ((paletted == null) ? 0 : paletted.getPaletteSize()))
+                    .putLong(rasterOffset);
+        }
+        header.flip();
+
+        final Path file = getFile(cacheFile, manifestHash);
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer data = ByteBuffer.allocateDirect(1 << 16);
+            put(channel, data, header);
+            put(channel, data, ByteBuffer.allocate((int) (pad(headerSize) - headerSize)));
+
+            for (TextureData texture : unique){
+                final ByteBuffer block = ByteBuffer.allocate(Math.toIntExact(pad(texture.byteSize())));
+
+                if (texture instanceof PalettedRaster) {
+                    final PalettedRaster paletted = (PalettedRaster) texture;
+                    block.asIntBuffer().put(paletted.getPalette());
+                    block.position(4 * paletted.getPaletteSize());
+                    block.put(paletted.getIndices());
+                }
+                else {
+                    final Raster raster = (Raster) texture;
+                    block.asIntBuffer().put(raster.getPixels(), 0, raster.getWidth() * raster.getHeight());
+                }
+
+                block.clear();
+                put(channel, data, block);
+            }
+            flush(channel, data);
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deleteStale(cacheFile, manifestHash);
+    }
+
+    /**
+     * @param cacheFile base path of cache file (e.g. home/texture_cache.bin).
+     * @return Returns cache file of pack (e.g. home/texture_cache-1a2b3c4d5e6f7a8b.bin).
+     */
+    public static Path getFile(Path cacheFile, long manifestHash){
+        final String name = cacheFile.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        final String hash = String.format("-%016x", manifestHash);
+
+        return cacheFile.resolveSibling((dot < 0) ? name + hash : name.substring(0, dot) + hash + name.substring(dot));
+    }
+
+    /**
+     * Deletes cache files of other packs (and file of old single file layout).
+     * Files which cannot be deleted (e.g. still mapped on Windows) are deleted on a later write.
+     */
+    private static void deleteStale(Path cacheFile, long manifestHash){
+        final String name = cacheFile.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        final String prefix = ((dot < 0) ? name : name.substring(0, dot)) + "-";
+        final String suffix = (dot < 0) ? "" : name.substring(dot);
+        final String current = getFile(cacheFile, manifestHash).getFileName().toString();
+
+        final Path directory = cacheFile.toAbsolutePath().getParent();
+        if (directory == null) return;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                final String fileName = path.getFileName().toString();
+                if (fileName.equals(current)) return false;
+                return fileName.equals(name) || fileName.startsWith(prefix) && fileName.endsWith(suffix);
+            }).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                }
+                catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Cannot delete old texture cache " + path + ": " + e.getMessage());
+                }
+            });
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.FINE, "Cannot list old texture caches: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends block to data buffer (large blocks are written directly).
+     */
+    private static void put(FileChannel channel, ByteBuffer data, ByteBuffer block) throws IOException {
+        if (block.remaining() > data.remaining()) flush(channel, data);
+
+        if (block.remaining() > data.remaining()) {
+            while (block.hasRemaining()) channel.write(block);
+        }
+        else data.put(block);
+    }
+
+    private static long pad(long size){
+        return (size + 3) & ~3L;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer data) throws IOException {
+        data.flip();
+        while (data.hasRemaining()) channel.write(data);
+        data.clear();
+    }
+
+    /**
+     * Calculates a hash over relative path, size and modification time of every file.
+     * Content is not read, so that hashing stays cheap on warm starts.
+     * @param root directory the relative paths start from.
+     * @throws IOException if an I/O error occurs while reading file attributes.
+     */
+    public static long manifestHash(Path root, List<Path> files) throws IOException {
+        final List<Path> sorted = new ArrayList<>(files);
+        sorted.sort(Comparator.comparing(path -> root.relativize(path).toString()));
+
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            //Every java platform has to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+
+        final ByteBuffer numbers = ByteBuffer.allocate(16);
+        for (Path path : sorted){
+            digest.update(root.relativize(path).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+
+            numbers.clear();
+            numbers.putLong(Files.size(path)).putLong(Files.getLastModifiedTime(path).toMillis());
+            digest.update(numbers.array());
+        }
+
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    public boolean contains(String key){
+        return index.containsKey(key);
+    }
+
+    /**
+     * @return Returns key of first texture with the same pixel data (key itself if texture is unique).
+     */
+    public String getCanonicalKey(String key){
+        return aliases.getOrDefault(key, key);
+    }
+
+    public Set<String> keys(){
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    public int size(){
+        return index.size();
+    }
+
+    /**
+     * @return Returns width of texture or -1 if key is not cached.
+     */
+    public int getWidth(String key){
+        final Entry entry = index.get(key);
+        return (entry == null) ? -1 : entry.width;
+    }
+
+    /**
+     * @return Returns height of texture or -1 if key is not cached.
+     */
+    public int getHeight(String key){
+        final Entry entry = index.get(key);
+        return (entry == null) ? -1 : entry.height;
+    }
+
+    /**
+     * @return Returns size of stored texture data in bytes (smaller than ARGB pixels if paletted) or -1 if key is not cached.
+     */
+    public long byteSize(String key){
+        final Entry entry = index.get(key);
+        return (entry == null) ? -1 : entry.byteSize();
+    }
+
+    /**
+     * @return Returns true if texture is stored as palette and packed indices.
+     */
+    public boolean isPaletted(String key){
+        final Entry entry = index.get(key);
+        return entry != null && entry.bits != 0;
+    }
+
+    /**
+     * @return Returns read-only view into mapped ARGB pixels (no copy) or null if key is not cached or texture is paletted.
+     */
+    public @Nullable IntBuffer getPixels(String key){
+        final Entry entry = index.get(key);
+        if (entry == null || entry.bits != 0) return null;
+
+        return view(entry).asIntBuffer();
+    }
+
+    /**
+     * @return Returns texture as raster (one bulk copy out of mapped file, paletted textures are expanded) or null if key is not cached.
+     */
+    public @Nullable Raster getRaster(String key){
+        final Entry entry = index.get(key);
+        if (entry == null) return null;
+        if (entry.bits != 0) return Objects.requireNonNull(getData(key)).toRaster();
+
+        final Raster raster = new Raster(entry.width, entry.height);
+        Objects.requireNonNull(getPixels(key)).get(raster.getPixels());
+        return raster;
+    }
+
+    /**
+     * @return Returns texture in stored format (PalettedRaster or Raster, copied out of mapped file) or null if key is not cached.
+     */
+    public @Nullable TextureData getData(String key){
+        final Entry entry = index.get(key);
+        if (entry == null) return null;
+        if (entry.bits == 0) return getRaster(key);
+
+        final ByteBuffer view = view(entry);
+        final int[] palette = new int[entry.paletteSize];
+        view.asIntBuffer().get(palette);
+
+        final byte[] indices = new byte[PalettedRaster.indexBytes(entry.width, entry.height, entry.bits)];
+        view.position(4 * palette.length);
+        view.get(indices);
+
+        return PalettedRaster.of(entry.width, entry.height, palette, entry.bits, indices);
+    }
+
+    /**
+     * @return Returns view of data of entry (position 0).
+     */
+    private ByteBuffer view(Entry entry){
+        final ByteBuffer view = buffer.duplicate();
+        view.position((int) entry.offset).limit((int) (entry.offset + entry.byteSize()));
+        return view.slice();
+    }
+
+    private static class Entry {
+        private final int width;
+        private final int height;
+
+        /**
+         * Bits per palette index or 0 if texture is stored as ARGB pixels.
+         */
+        private final int bits;
+        private final int paletteSize;
+        private final long offset;
+
+        private Entry(int width, int height, int bits, int paletteSize, long offset) {
+            this.width = width;
+            this.height = height;
+            this.bits = bits;
+            this.paletteSize = paletteSize & 0xFFFF;
+            this.offset = offset;
+        }
+
+        private boolean isValid(){
+            if (width <= 0 || height <= 0) return false;
+            if (bits == 0) return paletteSize == 0;
+            return (bits == 1 || bits == 2 || bits == 4 || bits == 8) && paletteSize > 0 && paletteSize <= (1 << bits);
+        }
+
+        private long byteSize(){
+            if (bits == 0) return 4L * width * height;
+            return 4L * paletteSize + ((long) width * height * bits + 7) / 8;
+        }
+    }
+}
@@ -1,12 +1,507 @@
 package com.github.kailex.api.resourcepack;
 
+import com.github.kailex.api.util.LoggerUtil;
+import com.github.kailex.api.util.image.PalettedRaster;
+import com.github.kailex.api.util.image.PngDecoder;
+import com.github.kailex.api.util.image.Raster;
+import com.github.kailex.api.util.image.TextureData;
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
- * This class is not implemented yet.
  * This class handles all textures used by application.
+ * Textures are decoded once into a memory-mapped TextureCache, so warm starts skip png decoding.
+ * Low colour textures are stored paletted in cache and only expanded to ARGB when they are drawn.
+ * Textures with equal pixel data share one stored copy.
+ * Greyscale textures are tinted with biome colors by TINTS.
+ * Animated textures (frame strips with .mcmeta) are drawn frame by frame from their strip (see getAnimation(...)).
  *
  * @author Alexander Ley
- * @version 0.0
+ * @version 1.2
  */
 public class TextureManager {
+    public static final Logger LOGGER = LoggerUtil.getLogger("TextureManager");
+
+    /**
+     * Textures folder relative to resource folder.
+     */
+    public static final String TEXTURES_PATH = "assets/minecraft/textures";
+
+    /**
+     * Base name of cache files in home directory (one file per pack, see TextureCache.getFile(...)).
+     */
+    public static final String CACHE_FILE = "texture_cache.bin";
+
+    /**
+     * Textures which are pinned in RESIDENCY, because nearly every screen needs them.
+     */
+    public static final List<String> GUI_ESSENTIALS = List.of("gui/widgets.png", "gui/icons.png", "font/ascii.png");
+
+    /**
+     * Resident JavaFx images of textures (loaded on first use).
+     */
+    public static final TextureResidency RESIDENCY = new TextureResidency(TextureResidency.DEFAULT_BUDGET);
+
+    /**
+     * Storage formats of resident texture data.
+     */
+    public enum StorageMode {
+        /**
+         * Every texture is stored as full ARGB raster.
+         */
+        FULL,
+        /**
+         * Textures with at most 256 colors are stored as palette and packed indices.
+         */
+        PALETTED
+    }
+
+    /**
+     * Nearest neighbour scaled images of textures per zoom level.
+     */
+    public static final ZoomCache ZOOM_CACHE = new ZoomCache();
+
+    /**
+     * Biome colors and cached tinted variants of greyscale textures (grass, foliage, water).
+     */
+    public static final BiomeTint TINTS = new BiomeTint(BiomeTint.DEFAULT_CAPACITY);
+
+    /**
+     * Global clock of all animated textures.
+     */
+    public static final AnimationClock ANIMATION_CLOCK = new AnimationClock();
+
+    private static volatile StorageMode storageMode = StorageMode.PALETTED;
+
+    /**
+     * Is increased whenever textures are loaded or cleared (see getGeneration()).
+     */
+    private static volatile int generation;
+
+    private static volatile @Nullable TextureCache cache;
+
+    /**
+     * Decoded textures, only used if cache file cannot be written.
+     */
+    private static volatile Map<String, TextureData> uncached = Map.of();
+
+    /**
+     * Duplicate keys of uncached textures (see getCanonicalKey(...)).
+     */
+    private static volatile Map<String, String> uncachedAliases = Map.of();
+
+    /**
+     * Texture id -> id of texture with same pixel data.
+     */
+    private static volatile int[] canonicalIds = new int[0];
+
+    /**
+     * Maximum bytes of texture data which is kept resident by getTexture(...).
+     */
+    public static final long RESIDENT_DATA_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * Texture data which was requested with getTexture(...) (stored in storage mode) in access order (eldest first).
+     * Least recently used data is evicted if RESIDENT_DATA_BUDGET is exceeded.
+     */
+    private static final LinkedHashMap<String, TextureData> RESIDENT_DATA = new LinkedHashMap<>(256, 0.75f, true);
+    private static long residentDataBytes;
+
+    /**
+     * Animation metadata of animated textures (parsed once while loading).
+     */
+    private static volatile Map<String, AnimationMeta> animations = Map.of();
+
+    /**
+     * Animated textures which were requested with getAnimation(...).
+     */
+    private static final Map<String, AnimatedTexture> ANIMATED = new ConcurrentHashMap<>();
+
+    /**
+     * Loads all textures of resource folder. Uses cache file if it belongs to the same pack,
+     * otherwise all pngs will be decoded (in parallel) and cache file will be rebuilt.
+     * @throws IOException if an I/O error occurs while reading textures or cache.
+     */
+    public static synchronized void loadTextures(Path resourcePath, Path cacheFile) throws IOException {
+        final Path texturesPath = resourcePath.resolve(TEXTURES_PATH);
+        final List<Path> files = listTextures(texturesPath);
+        loadTextures(resourcePath, cacheFile, files, TextureCache.manifestHash(texturesPath, files));
+    }
+
+    /**
+     * Loads textures of an already indexed resource folder (e.g. if indexing and manifest check are separate startup phases).
+     * @param files all textures of resource folder (see listTextures(...)).
+     * @param manifestHash hash of files (see TextureCache.manifestHash(...)).
+     * @throws IOException if an I/O error occurs while reading textures or cache.
+     */
+    public static synchronized void loadTextures(Path resourcePath, Path cacheFile, List<Path> files, long manifestHash) throws IOException {
+        final Path texturesPath = resourcePath.resolve(TEXTURES_PATH);
+
+        final long start = System.nanoTime();
+        generation++;
+        uncached = Map.of();
+        uncachedAliases = Map.of();
+        clearResidentData();
+        ANIMATED.clear();
+        cache = TextureCache.open(cacheFile, manifestHash);
+
+        if (cache != null) {
+            LOGGER.log(Level.INFO, "Mapped " + cache.size() + " cached textures in " + (System.nanoTime() - start) / 1_000_000 + " ms ("
+                    + cache.getDeduplicatedBytes() / 1024 + " KB saved by deduplication).");
+            registerKeys();
+            loadAnimations(texturesPath);
+            return;
+        }
+
+        final Map<String, Raster> textures = new ConcurrentHashMap<>();
+        files.parallelStream().forEach(path -> {
+            try {
+                textures.put(toKey(texturesPath, path), PngDecoder.decode(path));
+            }
+            catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Cannot decode " + path + ": " + e.getMessage());
+            }
+        });
+        LOGGER.log(Level.INFO, "Decoded " + textures.size() + " textures in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+
+        final Map<String, String> aliases = deduplicate(textures);
+
+        try {
+            TextureCache.write(cacheFile, manifestHash, textures);
+            cache = TextureCache.open(cacheFile, manifestHash);
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot write texture cache. Textures are kept in memory.", e);
+        }
+
+        if (cache == null) {
+            //Duplicates share one stored instance.
+            final IdentityHashMap<Raster, TextureData> storedRasters = new IdentityHashMap<>();
+            final Map<String, TextureData> stored = new ConcurrentHashMap<>();
+            textures.forEach((key, raster) -> stored.put(key, storedRasters.computeIfAbsent(raster, TextureManager::store)));
+
+            uncached = stored;
+            uncachedAliases = aliases;
+        }
+        registerKeys();
+        loadAnimations(texturesPath);
+
+        LOGGER.log(Level.INFO, aliases.size() + " duplicate textures share their data (" + getDeduplicatedBytes() / 1024 + " KB saved).");
+    }
+
+    /**
+     * Finds textures with equal pixel data and replaces them with one shared raster (raster of smallest key).
+     * @return Returns map of duplicate keys to key of shared raster.
+     */
+    private static Map<String, String> deduplicate(Map<String, Raster> textures){
+        final HashMap<Long, List<String>> byHash = new HashMap<>();
+        textures.keySet().stream().sorted().forEach(key ->
+                byHash.computeIfAbsent(textures.get(key).contentHash(), hash -> new ArrayList<>()).add(key));
+
+        final HashMap<String, String> aliases = new HashMap<>();
+        for (List<String> keys : byHash.values()){
+            for (int i = 1; i < keys.size(); i++){
+                final String key = keys.get(i);
+
+                //Hash collisions are resolved by comparing pixels with every earlier key.
+                for (int j = 0; j < i; j++){
+                    final String canonical = aliases.getOrDefault(keys.get(j), keys.get(j));
+
+                    if (textures.get(key).equals(textures.get(canonical))) {
+                        aliases.put(key, canonical);
+                        textures.put(key, textures.get(canonical));
+                        break;
+                    }
+                }
+            }
+        }
+        return aliases;
+    }
+
+    /**
+     * Parses animation metadata (.png.mcmeta) of all loaded textures.
+     * @throws IOException if an I/O error occurs when opening the directory.
+     */
+    private static void loadAnimations(Path texturesPath) throws IOException {
+        animations = Map.of();
+        if (!texturesPath.toFile().isDirectory()) return;
+
+        final List<Path> files;
+        try (Stream<Path> walk = Files.walk(texturesPath)) {
+            files = walk.filter(path -> path.toString().endsWith(".png.mcmeta")).collect(Collectors.toList());
+        }
+
+        final Map<String, AnimationMeta> parsed = new HashMap<>();
+        for (Path file : files){
+            final String fileKey = toKey(texturesPath, file);
+            final String key = fileKey.substring(0, fileKey.length() - ".mcmeta".length());
+
+            final int[] size = getSize(key);
+            if (size == null) continue;
+
+            try {
+                parsed.put(key, AnimationMeta.load(file, size[0], size[1]));
+            }
+            catch (IOException e) {
+                //mcmeta files without animation section (e.g. only texture blur) are not animated.
+                LOGGER.log(Level.FINE, "Cannot read animation of " + key + ": " + e.getMessage());
+            }
+        }
+        animations = parsed;
+        LOGGER.log(Level.INFO, "Parsed " + parsed.size() + " animated textures.");
+    }
+
+    /**
+     * @return Returns width and height of texture or null if texture does not exist.
+     */
+    private static int @Nullable [] getSize(String key){
+        final TextureCache current = cache;
+        if (current != null) return current.contains(key) ? new int[]{current.getWidth(key), current.getHeight(key)} : null;
+
+        final TextureData data = uncached.get(key);
+        return (data == null) ? null : new int[]{data.getWidth(), data.getHeight()};
+    }
+
+    /**
+     * Interns all loaded texture keys in TextureRegistry (sorted, so ids are reproducible for same pack)
+     * and maps ids of duplicate textures to the id of their shared texture.
+     */
+    private static void registerKeys(){
+        final List<String> keys = getKeys().stream().sorted().collect(Collectors.toList());
+        keys.forEach(TextureRegistry::intern);
+
+        final int[] ids = new int[TextureRegistry.size()];
+        for (int id = 0; id < ids.length; id++) ids[id] = id;
+
+        for (String key : keys){
+            final String canonical = getCanonicalKey(key);
+            if (!canonical.equals(key)) ids[TextureRegistry.getId(key)] = TextureRegistry.getId(canonical);
+        }
+        canonicalIds = ids;
+    }
+
+    /**
+     * @return Returns list of all png files in textures folder (empty if folder does not exist).
+     * @throws IOException if an I/O error occurs when opening the directory.
+     */
+    public static List<Path> listTextures(Path texturesPath) throws IOException {
+        if (!texturesPath.toFile().isDirectory()) return List.of();
+
+        try (Stream<Path> walk = Files.walk(texturesPath)) {
+            return walk.filter(path -> path.toString().endsWith(".png"))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @return Returns texture key (path relative to textures folder, e.g. "block/stone.png").
+     */
+    public static String toKey(Path texturesPath, Path texture){
+        return texturesPath.relativize(texture).toString().replace('\\', '/');
+    }
+
+    /**
+     * @return Returns key of texture with the same pixel data, which is used for storage (key itself if texture is unique).
+     */
+    public static String getCanonicalKey(String key){
+        final TextureCache current = cache;
+        return (current != null) ? current.getCanonicalKey(key) : uncachedAliases.getOrDefault(key, key);
+    }
+
+    /**
+     * @return Returns id of texture with the same pixel data (id itself if texture is unique or not part of the pack).
+     */
+    public static int getCanonicalId(int id){
+        final int[] ids = canonicalIds;
+        return (id >= 0 && id < ids.length) ? ids[id] : id;
+    }
+
+    /**
+     * @return Returns bytes which are saved, because duplicate textures share their data.
+     */
+    public static long getDeduplicatedBytes(){
+        final TextureCache current = cache;
+        if (current != null) return current.getDeduplicatedBytes();
+
+        return uncachedAliases.keySet().stream()
+                .map(uncached::get)
+                .mapToLong(data -> (data == null) ? 0 : data.byteSize())
+                .sum();
+    }
+
+    /**
+     * @return Returns generation of loaded textures. Images which were built from textures are outdated if it changes.
+     */
+    public static int getGeneration(){
+        return generation;
+    }
+
+    public static boolean isLoaded(){
+        return cache != null || !uncached.isEmpty();
+    }
+
+    public static boolean containsTexture(String key){
+        return (cache != null) ? cache.contains(key) : uncached.containsKey(key);
+    }
+
+    /**
+     * @return Returns all texture keys (empty if textures are not loaded).
+     */
+    public static Set<String> getKeys(){
+        return (cache != null) ? cache.keys() : uncached.keySet();
+    }
+
+    /**
+     * @return Returns decoded texture as full raster or null if texture does not exist or textures are not loaded.
+     */
+    public static @Nullable Raster getRaster(String key){
+        if (cache != null) return cache.getRaster(key);
+
+        final TextureData data = uncached.get(key);
+        return (data == null) ? null : data.toRaster();
+    }
+
+    /**
+     * Returns texture data in current storage mode. Data is read from cache in its stored (paletted) form
+     * and stays resident until RESIDENT_DATA_BUDGET is exceeded. Duplicate textures share the same instance.
+     * Use TextureData#copyTo(...) to expand it into an atlas or framebuffer.
+     * @return Returns texture data or null if texture does not exist or textures are not loaded.
+     */
+    public static @Nullable TextureData getTexture(String key){
+        final TextureData data = uncached.get(key);
+        if (data != null) return data;
+
+        final String canonical = getCanonicalKey(key);
+        synchronized (RESIDENT_DATA) {
+            final TextureData resident = RESIDENT_DATA.get(canonical);
+            if (resident != null) return resident;
+        }
+
+        final TextureCache current = cache;
+        TextureData loaded = (current == null) ? null : current.getData(canonical);
+        if (loaded == null) return null;
+        if (storageMode == StorageMode.FULL) loaded = loaded.toRaster();
+
+        synchronized (RESIDENT_DATA) {
+            //Another thread may have loaded the same texture meanwhile.
+            final TextureData resident = RESIDENT_DATA.get(canonical);
+            if (resident != null) return resident;
+
+            RESIDENT_DATA.put(canonical, loaded);
+            residentDataBytes += loaded.byteSize();
+
+            final Iterator<Map.Entry<String, TextureData>> iterator = RESIDENT_DATA.entrySet().iterator();
+            while (residentDataBytes > RESIDENT_DATA_BUDGET && iterator.hasNext()) {
+                final Map.Entry<String, TextureData> entry = iterator.next();
+                if (entry.getKey().equals(canonical)) continue;
+
+                residentDataBytes -= entry.getValue().byteSize();
+                iterator.remove();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @return Returns bytes of all resident texture data (see getTexture(...)).
+     */
+    public static long getResidentDataBytes(){
+        final long uncachedBytes = uncached.values().stream().mapToLong(TextureData::byteSize).sum();
+        synchronized (RESIDENT_DATA) {
+            return uncachedBytes + residentDataBytes;
+        }
+    }
+
+    private static void clearResidentData(){
+        synchronized (RESIDENT_DATA) {
+            RESIDENT_DATA.clear();
+            residentDataBytes = 0;
+        }
+    }
+
+    public static StorageMode getStorageMode(){
+        return storageMode;
+    }
+
+    /**
+     * Sets storage mode of texture data which is loaded afterwards.
+     */
+    public static void setStorageMode(StorageMode mode){
+        storageMode = mode;
+    }
+
+    /**
+     * @return Returns raster in current storage mode.
+     */
+    public static TextureData store(Raster raster){
+        return (storageMode == StorageMode.PALETTED) ? PalettedRaster.compressIfPossible(raster) : raster;
+    }
+
+    /**
+     * @return Returns JavaFx image of texture or null if texture does not exist (see RESIDENCY).
+     */
+    public static @Nullable Image getImage(String key){
+        return RESIDENCY.get(key);
+    }
+
+    public static boolean isAnimated(String key){
+        return animations.containsKey(key);
+    }
+
+    /**
+     * @return Returns keys of all animated textures.
+     */
+    public static Set<String> getAnimatedKeys(){
+        return animations.keySet();
+    }
+
+    /**
+     * Frames of animated texture are drawn from its strip by ANIMATION_CLOCK.
+     * @return Returns animated texture or null if texture does not exist or is not animated.
+     */
+    public static @Nullable AnimatedTexture getAnimation(String key){
+        final AnimationMeta meta = animations.get(key);
+        if (meta == null) return null;
+
+        return ANIMATED.computeIfAbsent(key, k -> {
+            final SpriteSheet strip = SpriteSheet.getTexture(k);
+            return (strip == null) ? null : new AnimatedTexture(k, meta, strip);
+        });
+    }
+
+    /**
+     * @param rgb tint color (e.g. TINTS.getGrassColor(...)).
+     * @return Returns texture multiplied with rgb or null if texture does not exist (see TINTS).
+     */
+    public static @Nullable Image getTintedImage(String key, int rgb){
+        return TINTS.get(key, rgb);
+    }
 
+    /**
+     * Releases loaded textures. Cache file stays on disk.
+     */
+    public static synchronized void clear(){
+        generation++;
+        RESIDENCY.clear();
+        ZOOM_CACHE.clear();
+        TINTS.clear();
+        ANIMATED.clear();
+        animations = Map.of();
+        clearResidentData();
+        cache = null;
+        uncached = Map.of();
+        uncachedAliases = Map.of();
+        canonicalIds = new int[0];
+    }
 }
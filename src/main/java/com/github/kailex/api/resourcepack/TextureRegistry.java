@@ -0,0 +1,67 @@
+package com.github.kailex.api.resourcepack;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * This class interns texture keys to dense int ids (0, 1, 2, ...), so that texture references can be stored as primitives.
+ * Ids are only valid while application is running and must not be saved (save keys instead).
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class TextureRegistry {
+
+    private static final HashMap<String, Integer> ID_MAP = new HashMap<>();
+
+    /**
+     * Keys by id. Array is replaced (never modified in used range), so it can be read without lock.
+     */
+    private static volatile String[] keys = new String[64];
+    private static volatile int size = 0;
+
+    /**
+     * @return Returns id of key and registers key if it is not registered yet.
+     */
+    public static synchronized int intern(@NotNull String key){
+        final Integer id = ID_MAP.get(key);
+        if (id != null) return id;
+
+        if (size == keys.length) keys = Arrays.copyOf(keys, size * 2);
+
+        keys[size] = key;
+        ID_MAP.put(key, size);
+        return size++;
+    }
+
+    /**
+     * @return Returns id of key or -1 if key is not registered.
+     */
+    public static synchronized int getId(String key){
+        final Integer id = ID_MAP.get(key);
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * @return Returns key of id or null if id is not registered.
+     */
+    public static @Nullable String getKey(int id){
+        //size has to be read before keys, so that keys contains every id below size.
+        if (id < 0 || id >= size) return null;
+        return keys[id];
+    }
+
+    public static boolean isRegistered(int id){
+        return id >= 0 && id < size;
+    }
+
+    /**
+     * @return Returns amount of registered keys (all ids are smaller than size).
+     */
+    public static int size(){
+        return size;
+    }
+}
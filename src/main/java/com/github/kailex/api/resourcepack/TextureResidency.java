@@ -0,0 +1,211 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.ImageUtil;
+import com.github.kailex.api.util.image.Raster;
+import javafx.scene.image.Image;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * This class keeps JavaFx images of textures resident within a byte budget.
+ * Textures are loaded on first use and the least recently used ones are evicted if budget is exceeded.
+ * Evicted textures are reloaded from their source (by default the texture cache of TextureManager).
+ * Pinned textures (e.g. GUI essentials) are never evicted.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class TextureResidency {
+
+    public static final long DEFAULT_BUDGET = 256L * 1024 * 1024;
+
+    /**
+     * Resident images by texture id in access order (eldest first).
+     */
+    private final LinkedHashMap<Integer, Image> resident = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * Additional sources of textures which are not part of the applied pack.
+     */
+    private final HashMap<Integer, Supplier<Image>> sources = new HashMap<>();
+    private final HashSet<Integer> pinned = new HashSet<>();
+
+    @Getter private long budget;
+    @Getter private long residentBytes;
+
+    @Getter private long hits;
+    @Getter private long misses;
+    @Getter private long evictions;
+
+    /**
+     * @param budget maximum bytes of all resident (not pinned) images.
+     */
+    public TextureResidency(long budget) {
+        setBudget(budget);
+    }
+
+    /**
+     * Sets budget and evicts textures if needed.
+     */
+    public synchronized void setBudget(long budget){
+        if (budget <= 0) throw new IllegalArgumentException(budget + " is not a valid budget.");
+
+        this.budget = budget;
+        evict(-1);
+    }
+
+    /**
+     * Registers a texture which is not part of the applied pack (e.g. application images).
+     * @param source is called on first use and again after eviction.
+     * @return Returns texture id.
+     */
+    public synchronized int register(String key, Supplier<Image> source){
+        final int id = TextureRegistry.intern(key);
+        sources.put(id, source);
+        unload(id);
+        return id;
+    }
+
+    /**
+     * @return Returns if texture can be loaded (texture is registered or part of applied pack).
+     */
+    public synchronized boolean contains(String key){
+        final int id = TextureRegistry.getId(key);
+        return (id >= 0 && sources.containsKey(id)) || TextureManager.containsTexture(key);
+    }
+
+    /**
+     * @return Returns image of texture (loads it if it is not resident) or null if texture does not exist.
+     */
+    public @Nullable Image get(String key){
+        final int id = TextureRegistry.getId(key);
+        return (id < 0) ? null : get(id);
+    }
+
+    /**
+     * @param id id from TextureRegistry.
+     * @return Returns image of texture (loads it if it is not resident) or null if texture does not exist.
+     */
+    public synchronized @Nullable Image get(int id){
+        //Duplicate textures share one image.
+        id = TextureManager.getCanonicalId(id);
+        Image image = resident.get(id);
+
+        if (image != null) {
+            hits++;
+            return image;
+        }
+
+        misses++;
+        image = load(id);
+        if (image == null) return null;
+
+        resident.put(id, image);
+        if (!pinned.contains(id)) residentBytes += byteSize(image);
+        evict(id);
+
+        return image;
+    }
+
+    /**
+     * Loads texture and keeps it resident until unpin(...) is called.
+     * @return Returns false if texture does not exist.
+     */
+    public synchronized boolean pin(String key){
+        final int id = TextureManager.getCanonicalId(TextureRegistry.intern(key));
+        if (pinned.contains(id)) return true;
+
+        final Image image = resident.get(id);
+        if (image != null) residentBytes -= byteSize(image);
+        pinned.add(id);
+
+        return get(id) != null;
+    }
+
+    public synchronized void unpin(String key){
+        final int id = TextureManager.getCanonicalId(TextureRegistry.getId(key));
+        if (!pinned.remove(id)) return;
+
+        final Image image = resident.get(id);
+        if (image != null) {
+            residentBytes += byteSize(image);
+            evict(-1);
+        }
+    }
+
+    /**
+     * Evicts all textures (pinned textures are reloaded on next use). Registered sources and pins are kept.
+     */
+    public synchronized void clear(){
+        resident.clear();
+        residentBytes = 0;
+    }
+
+    /**
+     * @return Returns amount of resident textures.
+     */
+    public synchronized int size(){
+        return resident.size();
+    }
+
+    /**
+     * Resets hit, miss and eviction counter.
+     */
+    public synchronized void resetStats(){
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("TextureResidency[%d textures, %.1f / %.1f MB, hits=%d, misses=%d, evictions=%d]",
+                resident.size(), residentBytes / (1024.0 * 1024), budget / (1024.0 * 1024), hits, misses, evictions);
+    }
+
+    private void unload(int id){
+        final Image image = resident.remove(id);
+        if (image != null && !pinned.contains(id)) residentBytes -= byteSize(image);
+    }
+
+    private @Nullable Image load(int id){
+        final Supplier<Image> source = sources.get(id);
+        if (source != null) return source.get();
+
+        final String key = TextureRegistry.getKey(id);
+        if (key == null) return null;
+
+        final Raster raster = TextureManager.getRaster(key);
+        return (raster == null) ? null : ImageUtil.toImage(raster);
+    }
+
+    /**
+     * Evicts least recently used (not pinned) textures until resident bytes are within budget.
+     * @param keep id which must not be evicted (e.g. texture which was just loaded).
+     */
+    private void evict(int keep){
+        final Iterator<Map.Entry<Integer, Image>> iterator = resident.entrySet().iterator();
+
+        while (residentBytes > budget && iterator.hasNext()) {
+            final Map.Entry<Integer, Image> entry = iterator.next();
+            final int id = entry.getKey();
+
+            if (id == keep || pinned.contains(id)) continue;
+
+            residentBytes -= byteSize(entry.getValue());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private static long byteSize(Image image){
+        return 4L * (long) image.getWidth() * (long) image.getHeight();
+    }
+}
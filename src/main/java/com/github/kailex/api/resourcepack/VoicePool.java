@@ -0,0 +1,125 @@
+package com.github.kailex.api.resourcepack;
+
+import javafx.scene.media.AudioClip;
+import lombok.Getter;
+
+/**
+ * This class limits the amount of sounds which play at the same time.
+ * If all voices are busy a new sound replaces the playing sound with the lowest priority (the oldest one on ties),
+ * unless all playing sounds have a higher priority. Then the new sound is dropped.
+ * A clip occupies at most one voice, because AudioClip.stop() and AudioClip.isPlaying() affect all instances of a clip.
+ * Playing a clip again restarts it in its voice.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class VoicePool {
+
+    private final AudioClip[] clips;
+    private final int[] priorities;
+    private final long[] startTimes;
+
+    @Getter private long played;
+    @Getter private long dropped;
+    @Getter private long stolen;
+    @Getter private long restarted;
+
+    /**
+     * @param voices maximum amount of concurrently playing sounds.
+     */
+    public VoicePool(int voices) {
+        if (voices <= 0) throw new IllegalArgumentException(voices + " is not a valid amount of voices.");
+
+        clips = new AudioClip[voices];
+        priorities = new int[voices];
+        startTimes = new long[voices];
+    }
+
+    /**
+     * Plays clip if a voice is free or can be stolen.
+     * @param priority higher priorities replace lower ones.
+     * @return Returns false if sound was dropped.
+     */
+    public synchronized boolean play(AudioClip clip, double volume, double rate, int priority){
+        for (int i = 0; i < clips.length; i++){
+            if (clips[i] != clip) continue;
+
+            if (clip.isPlaying()) {
+                if (priorities[i] > priority) {
+                    dropped++;
+                    return false;
+                }
+
+                clip.stop();
+                restarted++;
+            }
+            start(i, clip, volume, rate, priority);
+            return true;
+        }
+
+        int voice = -1;
+
+        for (int i = 0; i < clips.length; i++){
+            if (clips[i] == null || !clips[i].isPlaying()) {
+                voice = i;
+                break;
+            }
+
+            //Lowest priority, then oldest.
+            if (voice < 0 || priorities[i] < priorities[voice] || (priorities[i] == priorities[voice] && startTimes[i] < startTimes[voice])) {
+                voice = i;
+            }
+        }
+
+        if (clips[voice] != null && clips[voice].isPlaying()) {
+            if (priorities[voice] > priority) {
+                dropped++;
+                return false;
+            }
+
+            clips[voice].stop();
+            stolen++;
+        }
+
+        start(voice, clip, volume, rate, priority);
+        return true;
+    }
+
+    private void start(int voice, AudioClip clip, double volume, double rate, int priority){
+        clips[voice] = clip;
+        priorities[voice] = priority;
+        startTimes[voice] = System.nanoTime();
+        clip.play(volume, 0, rate, 0, priority);
+        played++;
+    }
+
+    /**
+     * @return Returns amount of playing sounds.
+     */
+    public synchronized int getActiveVoices(){
+        int active = 0;
+        for (AudioClip clip : clips){
+            if (clip != null && clip.isPlaying()) active++;
+        }
+        return active;
+    }
+
+    public int getVoices(){
+        return clips.length;
+    }
+
+    /**
+     * Stops all playing sounds.
+     */
+    public synchronized void stopAll(){
+        for (int i = 0; i < clips.length; i++){
+            if (clips[i] != null) clips[i].stop();
+            clips[i] = null;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("VoicePool[%d / %d voices, played=%d, dropped=%d, stolen=%d, restarted=%d]", getActiveVoices(), clips.length, played, dropped, stolen, restarted);
+    }
+}
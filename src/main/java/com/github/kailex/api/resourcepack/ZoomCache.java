@@ -0,0 +1,175 @@
+package com.github.kailex.api.resourcepack;
+
+import com.github.kailex.api.util.ImageUtil;
+import com.github.kailex.api.util.image.ScaleKernel;
+import com.github.kailex.api.util.image.TextureData;
+import javafx.scene.image.Image;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class caches nearest neighbour scaled copies of textures per zoom level (x1, x2, x4, x8),
+ * so that drawing never has to resample pixel art per frame.
+ * Copies are built lazily. If zoom level changes, all levels except the new and the previous one are evicted.
+ * Every level is bounded by a byte budget, least recently used copies are evicted first.
+ *
+ * @author Alexander Ley
+ * @version 1.2
+ */
+public class ZoomCache {
+
+    /**
+     * Supported zoom levels.
+     */
+    public static final int[] ZOOM_LEVELS = {1, 2, 4, 8};
+
+    public static final long DEFAULT_LEVEL_BUDGET = 32L * 1024 * 1024;
+
+    /**
+     * Scaled images per zoom level (index in ZOOM_LEVELS) and canonical texture id in access order (eldest first).
+     */
+    private final List<LinkedHashMap<Integer, Image>> levels = new ArrayList<>(ZOOM_LEVELS.length);
+
+    /**
+     * Bytes of cached images per zoom level.
+     */
+    private final long[] levelBytes = new long[ZOOM_LEVELS.length];
+
+    @Getter private final long levelBudget;
+    @Getter private long evictions;
+
+    private int zoom = 1;
+    private int previousZoom = 1;
+
+    public ZoomCache() {
+        this(DEFAULT_LEVEL_BUDGET);
+    }
+
+    /**
+     * @param levelBudget maximum bytes of cached images per zoom level.
+     */
+    public ZoomCache(long levelBudget) {
+        if (levelBudget <= 0) throw new IllegalArgumentException(levelBudget + " is not a valid budget.");
+
+        this.levelBudget = levelBudget;
+        for (int i = 0; i < ZOOM_LEVELS.length; i++) levels.add(new LinkedHashMap<>(64, 0.75f, true));
+    }
+
+    /**
+     * @return Returns scaled image of texture or null if texture does not exist.
+     * @throws IllegalArgumentException if zoom is not a supported zoom level.
+     */
+    public @Nullable Image get(String key, int zoom){
+        final int id = TextureRegistry.getId(key);
+        return (id < 0) ? null : get(id, zoom);
+    }
+
+    /**
+     * @param id id from TextureRegistry.
+     * @return Returns scaled image of texture or null if texture does not exist.
+     * @throws IllegalArgumentException if zoom is not a supported zoom level.
+     */
+    public synchronized @Nullable Image get(int id, int zoom){
+        final int index = levelIndex(zoom);
+        final LinkedHashMap<Integer, Image> level = levels.get(index);
+        final int canonicalId = TextureManager.getCanonicalId(id);
+
+        Image image = level.get(canonicalId);
+        if (image != null) return image;
+
+        final String key = TextureRegistry.getKey(canonicalId);
+        final TextureData texture = (key == null) ? null : TextureManager.getTexture(key);
+        if (texture == null) return null;
+
+        image = ImageUtil.toImage(ScaleKernel.scaleNearest(texture, zoom));
+        level.put(canonicalId, image);
+        levelBytes[index] += byteSize(image);
+        evict(index, canonicalId);
+        return image;
+    }
+
+    /**
+     * Evicts least recently used images of level until level is within budget.
+     * @param keep id which must not be evicted (e.g. image which was just built).
+     */
+    private void evict(int index, int keep){
+        final Iterator<Map.Entry<Integer, Image>> iterator = levels.get(index).entrySet().iterator();
+
+        while (levelBytes[index] > levelBudget && iterator.hasNext()) {
+            final Map.Entry<Integer, Image> entry = iterator.next();
+            if (entry.getKey() == keep) continue;
+
+            levelBytes[index] -= byteSize(entry.getValue());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * @return Returns true if zoom is a supported zoom level.
+     */
+    public static boolean isZoomLevel(int zoom){
+        for (int level : ZOOM_LEVELS){
+            if (level == zoom) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Marks zoom as zoom level in use and evicts all levels except zoom and the previous zoom level.
+     * @throws IllegalArgumentException if zoom is not a supported zoom level.
+     */
+    public synchronized void setZoom(int zoom){
+        levelIndex(zoom);
+        if (zoom == this.zoom) return;
+
+        previousZoom = this.zoom;
+        this.zoom = zoom;
+
+        for (int i = 0; i < ZOOM_LEVELS.length; i++){
+            if (ZOOM_LEVELS[i] != zoom && ZOOM_LEVELS[i] != previousZoom) clearLevel(i);
+        }
+    }
+
+    public synchronized int getZoom(){
+        return zoom;
+    }
+
+    /**
+     * @return Returns bytes of all cached images.
+     */
+    public synchronized long byteSize(){
+        long size = 0;
+        for (long bytes : levelBytes) size += bytes;
+        return size;
+    }
+
+    /**
+     * Evicts all zoom levels.
+     */
+    public synchronized void clear(){
+        for (int i = 0; i < levels.size(); i++) clearLevel(i);
+    }
+
+    private void clearLevel(int index){
+        levels.set(index, new LinkedHashMap<>(64, 0.75f, true));
+        levelBytes[index] = 0;
+    }
+
+    private static long byteSize(Image image){
+        return 4L * (long) image.getWidth() * (long) image.getHeight();
+    }
+
+    private static int levelIndex(int zoom){
+        for (int i = 0; i < ZOOM_LEVELS.length; i++){
+            if (ZOOM_LEVELS[i] == zoom) return i;
+        }
+        throw new IllegalArgumentException(zoom + " is not a supported zoom level.");
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.kailex.api.util;
+
+/**
+ * This class packs a 2D integer coordinate into one long, so coordinates can be returned without allocating objects
+ * (e.g. while handling mouse moves). x is stored in the upper and y in the lower 32 bits.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public final class Cord {
+
+    /**
+     * Marks a missing coordinate (e.g. mouse is outside of grid). Equals pack(Integer.MIN_VALUE, 0).
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private Cord(){ }
+
+    /**
+     * @return Returns x and y packed into one long.
+     */
+    public static long pack(int x, int y){
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return Returns x of packed coordinate.
+     */
+    public static int x(long cord){
+        return (int) (cord >> 32);
+    }
+
+    /**
+     * @return Returns y of packed coordinate.
+     */
+    public static int y(long cord){
+        return (int) cord;
+    }
+
+    /**
+     * @return Returns packed coordinate as tuple (allocates, use it only outside of hot paths).
+     */
+    public static HomogenTuple<Integer> toTuple(long cord){
+        return new HomogenTuple<>(x(cord), y(cord));
+    }
+
+    public static String toString(long cord){
+        return (cord == NONE) ? "(none)" : "(" + x(cord) + ", " + y(cord) + ")";
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.kailex.api.util;
+
+import javafx.application.Platform;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class coalesces UI updates from any thread. Only the latest update of every channel (e.g. progress text) is kept
+ * and all channels are flushed together in one Platform.runLater. While a flush is pending no further runLater is posted,
+ * so the JavaFx application thread runs at most one update per channel per flush, regardless of the amount of producers.
+ * While coalescer is not ready (e.g. JavaFx is not started yet) updates are only kept and flushed as soon as it is ready.
+ *
+ * @author Alexander Ley
+ * @version 1.2
+ */
+public class FxUpdateCoalescer {
+    public static final Logger LOGGER = LoggerUtil.getLogger("FxUpdateCoalescer");
+
+    private final Map<String, Runnable> latest = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile boolean ready = true;
+
+    /**
+     * Posts a batch to JavaFx application thread (e.g. Platform::runLater).
+     */
+    private final Consumer<Runnable> dispatcher;
+
+    private final LongAdder posted = new LongAdder();
+    @Getter private volatile long flushed;
+    @Getter private volatile long flushes;
+
+    public FxUpdateCoalescer() {
+        this(Platform::runLater);
+    }
+
+    /**
+     * @param dispatcher runs flush on JavaFx application thread (e.g. Platform::runLater).
+     */
+    public FxUpdateCoalescer(Consumer<Runnable> dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Replaces pending update of channel. Update is run on JavaFx application thread with next flush.
+     * @param channel e.g. "progress.text".
+     */
+    public void post(String channel, Runnable update){
+        latest.put(channel, update);
+        posted.increment();
+
+        if (ready) scheduleFlush();
+    }
+
+    /**
+     * @param ready if false updates are kept until coalescer is ready again (e.g. until JavaFx is started).
+     *              If true pending updates are flushed.
+     */
+    public void setReady(boolean ready){
+        this.ready = ready;
+        if (ready && !latest.isEmpty()) scheduleFlush();
+    }
+
+    public boolean isReady(){
+        return ready;
+    }
+
+    /**
+     * Posts a flush unless one is pending. If dispatcher fails (e.g. JavaFx is not started or already exited),
+     * updates stay pending and the next post tries again.
+     */
+    private void scheduleFlush(){
+        if (!scheduled.compareAndSet(false, true)) return;
+
+        try {
+            dispatcher.accept(this::flush);
+        }
+        catch (RuntimeException e) {
+            scheduled.set(false);
+            LOGGER.log(Level.WARNING, "Cannot post UI updates: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces pending value of channel. Consumer is called with latest value on JavaFx application thread.
+     */
+    public <T> void post(String channel, T value, Consumer<T> consumer){
+        post(channel, () -> consumer.accept(value));
+    }
+
+    /**
+     * Runs latest update of every channel.
+     */
+    private void flush(){
+        //Updates which are posted while flushing schedule a new flush.
+        scheduled.set(false);
+        flushes++;
+
+        for (String channel : latest.keySet()){
+            final Runnable update = latest.remove(channel);
+            if (update == null) continue;
+
+            update.run();
+            flushed++;
+        }
+    }
+
+    /**
+     * @return Returns amount of posted updates.
+     */
+    public long getPosted(){
+        return posted.sum();
+    }
+
+    /**
+     * @return Returns amount of channels with pending update.
+     */
+    public int getPending(){
+        return latest.size();
+    }
+}
@@ -1,19 +1,15 @@
 package com.github.kailex.api.util;
 
-import com.github.kailex.fxWindow.KailexApp;
+import com.github.kailex.api.game.InputBuffer;
 import javafx.animation.FadeTransition;
-import javafx.concurrent.Task;
-import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import org.jetbrains.annotations.Nullable;
 
-import java.awt.*;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -22,12 +18,33 @@ import java.util.logging.Logger;
  * This class offers help methods for JavaFx things.
  *
  * @author Alexander Ley
- * @version 1.0
+ * @version 1.6
  */
 public class FxUtils {
 
+    /**
+     * Timers of delayed and periodic tasks. Expired tasks of one tick are run in one Platform.runLater.
+     */
+    public static final TimerWheel TIMERS = new TimerWheel("Fx-Timer-Wheel", 10, 512, Platform::runLater);
+
+    /**
+     * Coalesced UI updates (only latest update per channel is run).
+     */
+    public static final FxUpdateCoalescer UPDATES = new FxUpdateCoalescer();
+
+    /**
+     * Mouse and key events of active scene (attached by changeScene(...)).
+     */
+    public static final InputBuffer INPUT = new InputBuffer();
+
+    /**
+     * Loaded scenes with their controllers (FXML files can be preloaded in background).
+     */
+    public static final SceneRegistry SCENES = new SceneRegistry(SceneRegistry.DEFAULT_CAPACITY);
+
     /**
      * This Method changes the scene. If next scene can't load the stage will be closed.
+     * Scenes are cached, so a scene which was shown or preloaded before is not loaded again.
      * @param stage stage where the scene have to changed.
      * @param fxmlFile .fxml file for loading (e.g. "/FXML/loadingScreen.fxml").
      * @param title Title of the window.
@@ -38,29 +55,28 @@ public class FxUtils {
      */
     public static @Nullable IController<?> changeScene(Stage stage, String fxmlFile, String title, int width, int height, boolean ignoreException) {
         try {
-            FXMLLoader fxmlLoader = new FXMLLoader(KailexApp.class.getResource(fxmlFile));
-
-            Parent root = fxmlLoader.load();
-
-            IController<?> activeController = fxmlLoader.getController();
-
-            Scene scene = new Scene(root, width, height);
+            final SceneRegistry.Entry entry = SCENES.show(stage, fxmlFile, title, width, height);
+            INPUT.attach(stage.getScene());
 
-            stage.setTitle(title);
-            stage.setScene(scene);
-
-            return activeController;
+            return entry.getController();
         }
         catch (Exception ex) {
             if (!ignoreException) {
                 LoggerUtil.getLogger("FxUtils").log(Level.SEVERE, "Can't load: " + fxmlFile, ex);
-                LoggerUtil.showError("Die nächste Szene konnte nicht geladen werden.");
-                stage.close();
+                LoggerUtil.showError("Die nächste Szene konnte nicht geladen werden.", stage::close);
             }
             return null;
         }
     }
 
+    /**
+     * Loads scene on a background thread, so a later changeScene(...) only has to show it.
+     * @param fxmlFile .fxml file for loading (e.g. "/FXML/loadingScreen.fxml").
+     */
+    public static void preloadScene(String fxmlFile){
+        SCENES.preload(fxmlFile);
+    }
+
     /**
      * Sets background image of node.
      * Width and Height of image is same as size of node.
@@ -87,18 +103,29 @@ public class FxUtils {
      * @param xOffset offset in positive x
      * @param yOffset offset in positive y
      * @return Returns an cord over a special node. (0, 0) starts at top left corner of the node.
+     * @deprecated allocates a tuple per call, use getMouseCellOverNode(...).
      */
+    @Deprecated
     public static Tuple<Integer, Integer> getMouseCordOverNode(@Nullable Node parent, int unity, int xOffset, int yOffset){
-        final double x = MouseInfo.getPointerInfo().getLocation().getX();
-        final double y = MouseInfo.getPointerInfo().getLocation().getY();
+        return Cord.toTuple(getMouseCellOverNode(parent, unity, xOffset, yOffset));
+    }
 
-        final double winLocX = KailexApp.stage.getX();
-        final double winLocY = KailexApp.stage.getY();
+    /**
+     * @param parent Parent Node, if null stage were used.
+     * @param unity is used to define a custom mesh.
+     * @param xOffset offset in positive x
+     * @param yOffset offset in positive y
+     * @return Returns cord over a special node as packed coordinate (see Cord). (0, 0) starts at top left corner of the node.
+     * Mouse position is the latest one captured by INPUT (scene coordinates).
+     */
+    public static long getMouseCellOverNode(@Nullable Node parent, int unity, int xOffset, int yOffset){
+        final double x = INPUT.getLatestMouseX();
+        final double y = INPUT.getLatestMouseY();
 
-        final int mouseX = (int) ((x - winLocX - ((parent != null) ? parent.getTranslateX() : 0)) / unity) + xOffset;
-        final int mouseY = (int) ((y - winLocY - ((parent != null) ? parent.getTranslateY() : 0)) / unity) + yOffset;
+        final int mouseX = (int) ((x - ((parent != null) ? parent.getTranslateX() : 0)) / unity) + xOffset;
+        final int mouseY = (int) ((y - ((parent != null) ? parent.getTranslateY() : 0)) / unity) + yOffset;
 
-        return new HomogenTuple<>(mouseX, mouseY);
+        return Cord.pack(mouseX, mouseY);
     }
 
     /**
@@ -111,36 +138,43 @@ public class FxUtils {
     }
 
     /**
-     * @return Returns (x, y) coordinate of node in gridPane (Brute Force).
+     * @return Returns (x, y) coordinate of node in gridPane or null if node is not in gridPane.
+     * @deprecated allocates a tuple per call, use getCellFromGridPane(...).
      */
-    public static HomogenTuple<Integer> getCordFromGridPane(GridPane gridPane, Node node){
-        for (int x = 0; x < gridPane.getColumnCount(); x++){
-            for (int y = 0; y < gridPane.getRowCount(); y++){
-                if (getNodeFromGridPane(gridPane, x, y, gridPane.getColumnCount()) == node){
-                    return new HomogenTuple<>(x, y);
-                }
-            }
-        }
-        return null;
+    @Deprecated
+    public static @Nullable HomogenTuple<Integer> getCordFromGridPane(GridPane gridPane, Node node){
+        final long cell = getCellFromGridPane(gridPane, node);
+        return (cell == Cord.NONE) ? null : Cord.toTuple(cell);
     }
 
     /**
-     * Runs a task specific time later.
+     * Looks node up in a reverse index of gridPane (see GridPaneIndex), so gridPane is not scanned.
+     * @return Returns (x, y) coordinate of node in gridPane as packed coordinate (see Cord) or Cord.NONE if node is not in gridPane.
+     */
+    public static long getCellFromGridPane(GridPane gridPane, Node node){
+        return GridPaneIndex.of(gridPane).getCell(node);
+    }
+
+    /**
+     * Runs a task specific time later on JavaFx application thread.
      * @param timeOut timeOut in milliseconds
      * @param action task (as lambda).
+     * @return Returns timeout to cancel task.
      */
-    public static void runLater(int timeOut, Consumer<Void> action){
-        Task<Void> sleeper = new Task<>() {
-            @Override
-            protected Void call() {
-                try {
-                    Thread.sleep(timeOut);
-                } catch (InterruptedException ignored) { }
-                return null;
-            }
-        };
-        sleeper.setOnSucceeded(event -> action.accept(null));
-        new Thread(sleeper).start();
+    public static TimerWheel.Timeout runLater(int timeOut, Consumer<Void> action){
+        return TIMERS.schedule(timeOut, () -> action.accept(null));
+    }
+
+    /**
+     * Runs a task periodically on JavaFx application thread.
+     * @param delay delay in milliseconds.
+     * @param period period in milliseconds.
+     * @param action task (as lambda).
+     * @return Returns timeout to cancel task.
+     */
+    public static TimerWheel.Timeout runPeriodically(long delay, long period, Runnable action){
+        if (period <= 0) throw new IllegalArgumentException(period + " is not a valid period.");
+        return TIMERS.schedule(delay, period, action);
     }
 
     /**
@@ -0,0 +1,82 @@
+package com.github.kailex.api.util;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.layout.GridPane;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * This class is a reverse index from children of a GridPane to their cell.
+ * Children are expected in row major order (see FxUtils.getNodeFromGridPane(...)).
+ * Index is rebuilt lazily after children changed, so lookups do not scan the grid.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class GridPaneIndex {
+
+    private static final String PROPERTY_KEY = GridPaneIndex.class.getName();
+
+    private final GridPane gridPane;
+
+    /**
+     * Position of every child in children list.
+     */
+    private final IdentityHashMap<Node, Integer> positions = new IdentityHashMap<>();
+
+    /**
+     * Column count of gridPane at last rebuild (GridPane.getColumnCount() iterates all children).
+     */
+    private int columns;
+
+    private boolean valid = false;
+
+    private GridPaneIndex(GridPane gridPane) {
+        this.gridPane = gridPane;
+        gridPane.getChildren().addListener((ListChangeListener<Node>) change -> valid = false);
+    }
+
+    /**
+     * @return Returns index of gridPane (created on first call and stored in properties of gridPane).
+     */
+    public static GridPaneIndex of(GridPane gridPane){
+        final Object index = gridPane.getProperties().get(PROPERTY_KEY);
+        if (index instanceof GridPaneIndex) return (GridPaneIndex) index;
+
+        final GridPaneIndex created = new GridPaneIndex(gridPane);
+        gridPane.getProperties().put(PROPERTY_KEY, created);
+        return created;
+    }
+
+    /**
+     * Column count is taken from gridPane when children changed. Use getCell(node, columnCount) if only constraints change.
+     * @return Returns cell of node as packed coordinate (see Cord) or Cord.NONE if node is not a child of gridPane.
+     */
+    public long getCell(Node node){
+        if (!valid) rebuild();
+        return getCell(node, columns);
+    }
+
+    /**
+     * @return Returns cell of node as packed coordinate (see Cord) or Cord.NONE if node is not a child of gridPane.
+     */
+    public long getCell(Node node, int columns){
+        if (!valid) rebuild();
+
+        final Integer position = positions.get(node);
+        if (position == null || columns <= 0) return Cord.NONE;
+
+        return Cord.pack(position % columns, position / columns);
+    }
+
+    private void rebuild(){
+        final List<Node> children = gridPane.getChildren();
+
+        positions.clear();
+        for (int i = 0; i < children.size(); i++) positions.put(children.get(i), i);
+        columns = gridPane.getColumnCount();
+        valid = true;
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.kailex.api.util;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * This class counts durations in buckets of equal width (e.g. frame or tick times), so that percentiles can be read
+ * without storing every sample. Durations above the last bucket are counted in an overflow bucket.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class Histogram {
+
+    @Getter private final long bucketNanos;
+    private final long[] buckets;
+    private long overflow;
+
+    @Getter private long count;
+    @Getter private long maxNanos;
+    private long totalNanos;
+
+    /**
+     * @param bucketNanos width of a bucket in nanoseconds.
+     * @param bucketCount amount of buckets (durations from 0 to bucketNanos * bucketCount are counted exactly).
+     */
+    public Histogram(long bucketNanos, int bucketCount) {
+        if (bucketNanos <= 0) throw new IllegalArgumentException(bucketNanos + " is not a valid bucket width.");
+        if (bucketCount <= 0) throw new IllegalArgumentException(bucketCount + " is not a valid amount of buckets.");
+
+        this.bucketNanos = bucketNanos;
+        this.buckets = new long[bucketCount];
+    }
+
+    public synchronized void record(long nanos){
+        if (nanos < 0) nanos = 0;
+
+        final long bucket = nanos / bucketNanos;
+        if (bucket < buckets.length) buckets[(int) bucket]++;
+        else overflow++;
+
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    /**
+     * @param percentile between 0 and 100 (e.g. 99).
+     * @return Returns upper bound of bucket which contains percentile in nanoseconds (max if it is in overflow bucket).
+     */
+    public synchronized long getPercentile(double percentile){
+        if (count == 0) return 0;
+
+        final long target = (long) Math.ceil(count * Math.max(0, Math.min(100, percentile)) / 100);
+        long seen = 0;
+
+        for (int i = 0; i < buckets.length; i++){
+            seen += buckets[i];
+            if (seen >= target && seen > 0) return (i + 1) * bucketNanos;
+        }
+        return maxNanos;
+    }
+
+    public synchronized double getMeanNanos(){
+        return (count == 0) ? 0 : totalNanos / (double) count;
+    }
+
+    /**
+     * @return Returns amount of durations above last bucket.
+     */
+    public synchronized long getOverflow(){
+        return overflow;
+    }
+
+    public synchronized void reset(){
+        Arrays.fill(buckets, 0);
+        overflow = 0;
+        count = 0;
+        maxNanos = 0;
+        totalNanos = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Histogram[n=%d, mean=%.2f ms, p50=%.2f ms, p95=%.2f ms, p99=%.2f ms, max=%.2f ms]",
+                count, getMeanNanos() / 1e6, getPercentile(50) / 1e6, getPercentile(95) / 1e6, getPercentile(99) / 1e6, maxNanos / 1e6);
+    }
+}
@@ -13,8 +13,16 @@ import java.util.ResourceBundle;
  * This Interface wraps all Controller into one Reference Type and Returns the actual object.
  *
  * @author Alexander Ley
- * @version 1.0
+ * @version 1.1
  */
 public interface IController<T> {
     T getInstance();
+
+    /**
+     * Is called on JavaFx application thread every time scene of controller is shown.
+     * initialize() of a preloaded scene runs on a background thread, so animations and other work which
+     * needs JavaFx application thread have to be started here.
+     */
+    default void onShow(){
+    }
 }
@@ -1,9 +1,13 @@
 package com.github.kailex.api.util;
 
+import com.github.kailex.api.util.image.BlendKernel;
+import com.github.kailex.api.util.image.Raster;
+import com.github.kailex.api.util.image.ScaleKernel;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import javafx.scene.transform.Rotate;
@@ -21,7 +25,7 @@ import java.util.List;
  * This class offers help methods to work with JavaFx Images.
  *
  * @author Alexander Ley
- * @version 1.1
+ * @version 1.4
  */
 public class ImageUtil {
 
@@ -58,23 +62,58 @@ public class ImageUtil {
     }
 
     /**
-     * Put all images in images together in one new image.
+     * Converts a decoded raster (e.g. from PngDecoder) into a JavaFx image.
+     * @return Returns a new image with a copy of raster pixels.
+     */
+    public static WritableImage toImage(Raster raster){
+        final int width = raster.getWidth();
+        final int height = raster.getHeight();
+
+        final WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), raster.getPixels(), 0, width);
+        return image;
+    }
+
+    /**
+     * Reads all pixels of a JavaFx image into a raster.
+     */
+    public static Raster toRaster(Image image){
+        final int width = (int) image.getWidth();
+        final int height = (int) image.getHeight();
+
+        final Raster raster = new Raster(width, height);
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), raster.getPixels(), 0, width);
+        return raster;
+    }
+
+    /**
+     * Scales image by an integer factor with nearest neighbour sampling (pixel art stays sharp).
+     * For textures prefer TextureManager.ZOOM_CACHE, which caches scaled copies.
+     * @return Returns a new scaled image.
+     */
+    public static Image scaleNearest(Image img, int factor){
+        return toImage(ScaleKernel.scaleNearest(toRaster(img), factor));
+    }
+
+    /**
+     * Put all images in images together in one new image (first image at the bottom).
+     * Images are scaled with nearest neighbour sampling and merged without Canvas, so it can be called from any thread.
+     * Images which already have the size are not resampled (e.g. textures from TextureManager.ZOOM_CACHE).
      * @param width width of the new image.
      * @param height height of the new image.
      * @return Returns a merged image.
      */
     public static Image mergeImages(List<Image> images, int width, int height){
-        if (images.contains(null)) throw new IllegalArgumentException("Image cannot be null.");
-
-        Canvas canvas = new Canvas(width, height);
-        GraphicsContext gc = canvas.getGraphicsContext2D();
+        final Raster merged = new Raster(width, height);
+        for (Image image : images){
+            if (image == null) throw new IllegalArgumentException("Image cannot be null.");
 
-        images.forEach(image -> gc.drawImage(image, 0, 0, width, height));
+            final Raster raster = toRaster(image);
+            final boolean sized = raster.getWidth() == width && raster.getHeight() == height;
 
-        SnapshotParameters snap = new SnapshotParameters();
-        snap.setFill(Color.color(1, 1, 1, 0));
-
-        return canvas.snapshot(snap, new WritableImage(width, height));
+            BlendKernel.drawOver(merged, sized ? raster : ScaleKernel.scaleNearest(raster, width, height));
+        }
+        return toImage(merged);
     }
 
     /**
@@ -143,15 +182,12 @@ public class ImageUtil {
         return rotateImage(img, degrees, (int) img.getWidth(), (int) img.getHeight(), (int) img.getWidth(), (int) img.getHeight());
     }
 
+    /**
+     * Copies a region of img into a new image (without Canvas snapshot, so it can be called from any thread).
+     * Prefer Sprite views of a SpriteSheet if no separate image is needed.
+     * @return Returns region as new image.
+     */
     public static Image getImageSnippet(Image img, int uvx, int uvy, int width, int height){
-        Canvas canvas = new Canvas(width, height);
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-
-        gc.drawImage(img, uvx, uvy, width, height, 0, 0, width, height);
-
-        SnapshotParameters snap = new SnapshotParameters();
-        snap.setFill(Color.color(1, 1, 1, 0));
-
-        return canvas.snapshot(snap, new WritableImage(width, height));
+        return new WritableImage(img.getPixelReader(), uvx, uvy, width, height);
     }
 }
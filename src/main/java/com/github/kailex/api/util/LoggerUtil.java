@@ -1,15 +1,27 @@
 package com.github.kailex.api.util;
 
-import javax.swing.*;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
 /**
  * This class offers basic methods to use java API Logger.
  *
  * @author Alexander Ley
- * @version 1.1
+ * @version 1.4
  */
 public final class LoggerUtil {
+
+    /**
+     * Milliseconds which showError(...) waits for JavaFx to show the dialog before message is printed instead.
+     */
+    public static final long ERROR_DIALOG_TIMEOUT = 5000;
+
     public static Logger getLogger(Class<?> clazz){
         return Logger.getLogger(clazz.getSimpleName());
     }
@@ -18,14 +30,70 @@ public final class LoggerUtil {
         return Logger.getLogger(name);
     }
 
+    /**
+     * Shows an error dialog (JavaFx) and waits until it is closed.
+     * On JavaFx application thread dialog is posted with Platform.runLater and method returns at once,
+     * because a nested event loop must not be started while a pulse or an animation is processed.
+     * If JavaFx is not started yet, message is printed to the error stream instead.
+     */
     public static void showError(String msg){
-        msg = msg.replace("ä", "\u00e4")
-                .replace("ß", "\00df")
-                .replace("ö", "\00f6")
-                .replace("ü", "\00fc")
-                .replace("Ä", "\00c4")
-                .replace("Ö", "\00d6")
-                .replace("Ü", "\00dc");
-        JOptionPane.showMessageDialog(null, msg, "Error", JOptionPane.ERROR_MESSAGE);
+        showError(msg, null);
+    }
+
+    /**
+     * Shows an error dialog like showError(msg) and runs onClosed on JavaFx application thread after dialog is closed
+     * (e.g. to close the stage only after user has seen the error).
+     * If JavaFx is not started yet or already exited (Platform.runLater then drops the dialog silently),
+     * message is printed to the error stream and onClosed is run at once.
+     */
+    public static void showError(String msg, @Nullable Runnable onClosed){
+        final AtomicBoolean started = new AtomicBoolean(false);
+        final CountDownLatch shown = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        try {
+            Platform.runLater(() -> {
+                //Dialog was given up, because JavaFx did not run it in time.
+                if (!started.compareAndSet(false, true)) return;
+                shown.countDown();
+
+                try {
+                    createErrorAlert(msg).showAndWait();
+                }
+                finally {
+                    closed.countDown();
+                    if (onClosed != null) onClosed.run();
+                }
+            });
+        }
+        catch (IllegalStateException e) {
+            //JavaFx toolkit is not initialized.
+            printError(msg, onClosed);
+            return;
+        }
+        if (Platform.isFxApplicationThread()) return;
+
+        try {
+            if (!shown.await(ERROR_DIALOG_TIMEOUT, TimeUnit.MILLISECONDS) && started.compareAndSet(false, true)) {
+                //JavaFx has exited (or is blocked), so dialog will never be shown.
+                printError(msg, onClosed);
+                return;
+            }
+            closed.await();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void printError(String msg, @Nullable Runnable onClosed){
+        System.err.println("Error: " + msg);
+        if (onClosed != null) onClosed.run();
+    }
+
+    private static Alert createErrorAlert(String msg){
+        final Alert alert = new Alert(Alert.AlertType.ERROR, msg);
+        alert.setTitle("Error");
+        alert.setHeaderText(null);
+        return alert;
     }
 }
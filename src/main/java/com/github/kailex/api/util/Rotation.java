@@ -8,7 +8,7 @@ package com.github.kailex.api.util;
  * West -> 90°
  *
  * @author Alexander Ley
- * @version 1.0
+ * @version 1.1
  */
 public enum Rotation {
     NORTH(0),
@@ -16,6 +16,8 @@ public enum Rotation {
     SOUTH(180),
     EAST(90);
 
+    private static final Rotation[] VALUES = values();
+
     private final int degrees;
 
     Rotation(int degrees){
@@ -25,4 +27,11 @@ public enum Rotation {
     public int getDegrees() {
         return degrees;
     }
+
+    /**
+     * @return Returns rotation with given ordinal (without copying values() array).
+     */
+    public static Rotation byOrdinal(int ordinal){
+        return VALUES[ordinal];
+    }
 }
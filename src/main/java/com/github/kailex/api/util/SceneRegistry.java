@@ -0,0 +1,240 @@
+package com.github.kailex.api.util;
+
+import com.github.kailex.fxWindow.KailexApp;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class loads FXML scenes ahead of need and keeps built scenes with their controller in a bounded cache.
+ * FXML is parsed and its node graph is instantiated on a background thread (nodes may be created on any thread
+ * as long as they are not shown). Only the Scene is created on JavaFx application thread, so switching to a
+ * preloaded or cached scene is mostly stage.setScene(...). Time which a switch takes on JavaFx application thread is recorded.
+ * Because initialize() of a preloaded controller runs on the background thread, it must only set up its nodes.
+ * Animations are started in IController.onShow(), which is called on JavaFx application thread at every show.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class SceneRegistry {
+    public static final Logger LOGGER = LoggerUtil.getLogger("SceneRegistry");
+
+    public static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * Parses FXML files one after another (daemon thread).
+     */
+    private static final ExecutorService PRELOADER = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "Fxml-Preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Loaded or loading scenes by FXML file in access order (eldest first).
+     */
+    private final LinkedHashMap<String, CompletableFuture<Entry>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Getter private final int capacity;
+
+    /**
+     * Durations of scene switches on JavaFx application thread (buckets of 0.1 ms up to 50 ms).
+     */
+    @Getter private final Histogram switchTimes = new Histogram(100_000, 500);
+
+    @Getter private long hits;
+    @Getter private long misses;
+
+    /**
+     * @param capacity maximum amount of cached scenes.
+     */
+    public SceneRegistry(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException(capacity + " is not a valid capacity.");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Starts loading FXML file on background thread (does nothing if file is already loaded or loading).
+     * @param fxmlFile .fxml file for loading (e.g. "/FXML/loadingScreen.fxml").
+     * @return Returns future of loaded scene.
+     */
+    public synchronized CompletableFuture<Entry> preload(String fxmlFile){
+        CompletableFuture<Entry> future = entries.get(fxmlFile);
+
+        if (future == null) {
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return load(fxmlFile);
+                }
+                catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, PRELOADER);
+            put(fxmlFile, future);
+
+            //Failed preloads are not cached, so next preload or switch tries again.
+            final CompletableFuture<Entry> loading = future;
+            loading.whenComplete((entry, e) -> {
+                if (e == null) return;
+
+                LOGGER.log(Level.WARNING, "Cannot preload " + fxmlFile, e);
+                synchronized (this) {
+                    entries.remove(fxmlFile, loading);
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * Shows scene of FXML file on stage and calls onShow() of its controller.
+     * Scene is taken from cache, waits for a running preload or is loaded now.
+     * Must be called on JavaFx application thread.
+     * @param fxmlFile .fxml file for loading (e.g. "/FXML/loadingScreen.fxml").
+     * @return Returns shown scene with its controller.
+     * @throws IOException if FXML file cannot be loaded.
+     */
+    public Entry show(Stage stage, String fxmlFile, String title, int width, int height) throws IOException {
+        final long start = System.nanoTime();
+
+        final Entry entry = get(fxmlFile);
+        final Scene scene = entry.getScene(width, height);
+
+        stage.setTitle(title);
+        stage.setScene(scene);
+        if (entry.controller != null) entry.controller.onShow();
+
+        final long nanos = System.nanoTime() - start;
+        switchTimes.record(nanos);
+        LOGGER.log(Level.FINE, String.format("Switched to %s in %.2f ms.", fxmlFile, nanos / 1_000_000.0));
+
+        return entry;
+    }
+
+    private Entry get(String fxmlFile) throws IOException {
+        final CompletableFuture<Entry> future;
+        synchronized (this) {
+            future = entries.get(fxmlFile);
+        }
+
+        if (future == null) {
+            misses++;
+            final Entry entry = load(fxmlFile);
+
+            synchronized (this) {
+                put(fxmlFile, CompletableFuture.completedFuture(entry));
+            }
+            return entry;
+        }
+
+        hits++;
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Cannot load " + fxmlFile, e.getCause());
+        }
+    }
+
+    /**
+     * Parses FXML file and instantiates its node graph (on any thread).
+     * @throws IOException if FXML file cannot be loaded.
+     */
+    private static Entry load(String fxmlFile) throws IOException {
+        final URL url = KailexApp.class.getResource(fxmlFile);
+        if (url == null) throw new IOException(fxmlFile + " does not exist.");
+
+        final FXMLLoader fxmlLoader = new FXMLLoader(url);
+        final Parent root = fxmlLoader.load();
+
+        return new Entry(root, fxmlLoader.getController());
+    }
+
+    private void put(String fxmlFile, CompletableFuture<Entry> future){
+        entries.put(fxmlFile, future);
+
+        while (entries.size() > capacity) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * @return Returns true if scene of FXML file is loaded or loading.
+     */
+    public synchronized boolean contains(String fxmlFile){
+        return entries.containsKey(fxmlFile);
+    }
+
+    /**
+     * Releases scene of FXML file (e.g. after its last use).
+     */
+    public synchronized void evict(String fxmlFile){
+        entries.remove(fxmlFile);
+    }
+
+    /**
+     * Releases all cached scenes.
+     */
+    public synchronized void clear(){
+        entries.clear();
+    }
+
+    public synchronized int size(){
+        return entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("SceneRegistry[%d / %d scenes, hits=%d, misses=%d]%n  switches: %s", entries.size(), capacity, hits, misses, switchTimes);
+    }
+
+    /**
+     * A loaded scene graph with its controller.
+     */
+    public static class Entry {
+        @Getter private final Parent root;
+        @Getter private final @Nullable IController<?> controller;
+
+        /**
+         * Scene is created on first show (JavaFx application thread).
+         */
+        private @Nullable Scene scene;
+
+        private Entry(Parent root, @Nullable IController<?> controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        /**
+         * @return Returns scene of root with size (new scene if size changed). Must be called on JavaFx application thread.
+         */
+        private Scene getScene(int width, int height){
+            if (scene != null && scene.getWidth() == width && scene.getHeight() == height) return scene;
+
+            //A root can only belong to one scene.
+            if (scene != null) scene.setRoot(new Group());
+
+            scene = new Scene(root, width, height);
+            return scene;
+        }
+
+        public @Nullable Scene getScene(){
+            return scene;
+        }
+    }
+}
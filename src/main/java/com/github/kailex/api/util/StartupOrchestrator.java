@@ -0,0 +1,231 @@
+package com.github.kailex.api.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class runs startup phases concurrently. A phase starts as soon as all its dependencies are done
+ * (no fixed delays). If a phase fails, all phases which depend on it are skipped.
+ * Start and end of every phase are recorded and logged as startup trace together with the critical path
+ * (chain of dependencies which finished last).
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class StartupOrchestrator {
+    public static final Logger LOGGER = LoggerUtil.getLogger("Startup");
+
+    /**
+     * Work of a phase (may block, every phase runs on its own thread).
+     */
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public enum State {
+        PENDING, RUNNING, DONE, FAILED, SKIPPED
+    }
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Phases in order of declaration (dependencies are always declared before).
+     */
+    private final LinkedHashMap<String, Phase> phases = new LinkedHashMap<>();
+
+    private @Nullable CompletableFuture<Void> result;
+    private long startNanos;
+
+    /**
+     * Adds a phase which runs action.
+     * @param dependencies names of phases which have to be done before (must be added before).
+     * @throws IllegalArgumentException if name already exists or a dependency does not exist.
+     */
+    public synchronized void phase(String name, Action action, String... dependencies){
+        add(new Phase(name, action, null, dependencies));
+    }
+
+    /**
+     * Adds a phase which is done when signal completes (e.g. work on another thread like JavaFx launch).
+     * Phase starts with the orchestrator.
+     * @param dependencies names of phases which have to be done before (must be added before).
+     * @throws IllegalArgumentException if name already exists or a dependency does not exist.
+     */
+    public synchronized void phase(String name, CompletionStage<?> signal, String... dependencies){
+        add(new Phase(name, null, signal, dependencies));
+    }
+
+    private void add(Phase phase){
+        if (result != null) throw new IllegalStateException("Startup is already running.");
+        if (phases.containsKey(phase.name)) throw new IllegalArgumentException(phase.name + " is not a valid phase name.");
+
+        for (String dependency : phase.dependencies){
+            if (!phases.containsKey(dependency)) throw new IllegalArgumentException(dependency + " is not a valid dependency.");
+        }
+        phases.put(phase.name, phase);
+    }
+
+    /**
+     * Starts all phases. Trace is logged when all phases are done or skipped.
+     * @return Returns future which completes when all phases are done (exceptionally if a phase failed).
+     */
+    public synchronized CompletableFuture<Void> start(){
+        if (result != null) return result;
+
+        final ExecutorService pool = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "Startup-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        startNanos = System.nanoTime();
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(phases.size());
+        for (Phase phase : phases.values()){
+            final CompletableFuture<?>[] dependencies = new CompletableFuture<?>[phase.dependencies.length];
+            for (int i = 0; i < dependencies.length; i++) dependencies[i] = phases.get(phase.dependencies[i]).future;
+
+            final CompletableFuture<Void> ready = CompletableFuture.allOf(dependencies);
+
+            if (phase.action != null) {
+                phase.future = ready.thenRunAsync(() -> run(phase), pool);
+            }
+            else {
+                phase.begin("external");
+                phase.future = ready.thenCombine(phase.signal, (a, b) -> (Void) null);
+                phase.signal.whenComplete((value, e) -> phase.end(e == null ? State.DONE : State.FAILED));
+            }
+
+            //Phases which never started were skipped because of a failed dependency.
+            phase.future.whenComplete((value, e) -> {
+                if (e != null && phase.state == State.PENDING) phase.state = State.SKIPPED;
+            });
+            futures.add(phase.future);
+        }
+
+        result = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+        result.whenComplete((value, e) -> {
+            pool.shutdown();
+            LOGGER.log((e == null) ? Level.INFO : Level.SEVERE, getTrace());
+        });
+        return result;
+    }
+
+    private void run(Phase phase){
+        phase.begin(Thread.currentThread().getName());
+        try {
+            phase.action.run();
+            phase.end(State.DONE);
+        }
+        catch (Exception e) {
+            phase.end(State.FAILED);
+            LOGGER.log(Level.SEVERE, "Startup phase " + phase.name + " failed.", e);
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * @return Returns future of phase (e.g. to wait for it outside of orchestrator).
+     * @throws IllegalStateException if orchestrator is not started.
+     */
+    public synchronized CompletableFuture<Void> getFuture(String name){
+        final Phase phase = phases.get(name);
+        if (phase == null) throw new IllegalArgumentException(name + " is not a valid phase name.");
+        if (phase.future == null) throw new IllegalStateException("Startup is not running.");
+        return phase.future;
+    }
+
+    public synchronized State getState(String name){
+        final Phase phase = phases.get(name);
+        if (phase == null) throw new IllegalArgumentException(name + " is not a valid phase name.");
+        return phase.state;
+    }
+
+    /**
+     * @return Returns names of phases which finished last through their dependencies (first phase first).
+     */
+    public synchronized List<String> getCriticalPath(){
+        Phase last = null;
+        for (Phase phase : phases.values()){
+            if (phase.endNanos >= 0 && (last == null || phase.endNanos > last.endNanos)) last = phase;
+        }
+
+        final List<String> path = new ArrayList<>();
+        while (last != null) {
+            path.add(last.name);
+
+            Phase next = null;
+            for (String dependency : last.dependencies){
+                final Phase phase = phases.get(dependency);
+                if (phase.endNanos >= 0 && (next == null || phase.endNanos > next.endNanos)) next = phase;
+            }
+            last = next;
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * @return Returns start and end of every phase relative to start of orchestrator and critical path.
+     */
+    public synchronized String getTrace(){
+        final StringBuilder builder = new StringBuilder("Startup trace:");
+        long total = 0;
+
+        for (Phase phase : phases.values()){
+            final long start = (phase.startNanos < 0) ? -1 : (phase.startNanos - startNanos) / 1_000_000;
+            final long end = (phase.endNanos < 0) ? -1 : (phase.endNanos - startNanos) / 1_000_000;
+            total = Math.max(total, end);
+
+            builder.append(String.format("%n  %-12s %-8s", phase.name, phase.state));
+            if (start >= 0 && end >= 0) builder.append(String.format(" %6d ms -> %6d ms (%d ms) [%s]", start, end, end - start, phase.thread));
+        }
+
+        builder.append(String.format("%n  total %d ms, critical path: %s", total, String.join(" -> ", getCriticalPath())));
+        return builder.toString();
+    }
+
+    private static class Phase {
+        private final String name;
+        private final String[] dependencies;
+        private final @Nullable Action action;
+        private final @Nullable CompletionStage<?> signal;
+
+        private CompletableFuture<Void> future;
+
+        private volatile State state = State.PENDING;
+        private volatile long startNanos = -1;
+        private volatile long endNanos = -1;
+        private volatile String thread;
+
+        private Phase(String name, @Nullable Action action, @Nullable CompletionStage<?> signal, String[] dependencies) {
+            this.name = name;
+            this.action = action;
+            this.signal = signal;
+            this.dependencies = dependencies.clone();
+        }
+
+        private void begin(String thread){
+            this.thread = thread;
+            startNanos = System.nanoTime();
+            state = State.RUNNING;
+        }
+
+        private void end(State state){
+            endNanos = System.nanoTime();
+            this.state = state;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.kailex.api.util;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class runs all Tickables on a few shared daemon threads instead of one timer thread per Tickable.
+ * Threads do not keep the application open.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class TickScheduler {
+
+    /**
+     * Amount of scheduler threads.
+     */
+    public static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private static final ThreadFactory THREAD_FACTORY = runnable -> {
+        final Thread thread = new Thread(runnable, "Tick-Scheduler-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private static ScheduledThreadPoolExecutor createExecutor(){
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(THREADS, THREAD_FACTORY);
+
+        //Cancelled tickables are removed immediately instead of staying in queue until their next run.
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Runs task periodically. Next run starts period milliseconds after end of last run (like java.util.Timer#schedule).
+     * A task never runs parallel to itself.
+     * @param delay start delay in milliseconds.
+     * @param period period in milliseconds.
+     * @return Returns future to cancel task.
+     * @throws IllegalArgumentException if delay is negative or period is not positive.
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long delay, long period){
+        if (delay < 0) throw new IllegalArgumentException(delay + " is not a valid delay.");
+        if (period <= 0) throw new IllegalArgumentException(period + " is not a valid period.");
+
+        return EXECUTOR.scheduleWithFixedDelay(task, delay, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs task once.
+     * @param delay delay in milliseconds.
+     * @return Returns future to cancel task.
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long delay){
+        return EXECUTOR.schedule(task, Math.max(0, delay), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return Returns amount of scheduled tasks.
+     */
+    public static int getScheduledTasks(){
+        return EXECUTOR.getQueue().size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.kailex.api.util;
+
+import lombok.Getter;
+
+/**
+ * This class records timing statistics of a Tickable. A tick overruns if it takes longer than the period of its Tickable.
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+@Getter
+public class TickStats {
+
+    private volatile long ticks;
+    private volatile long overruns;
+
+    private volatile long lastNanos;
+    private volatile long maxNanos;
+    private volatile long totalNanos;
+
+    /**
+     * Records duration of one tick.
+     * @param periodNanos period of Tickable (used for overrun detection).
+     * @return Returns true if tick overran its period.
+     */
+    public synchronized boolean record(long nanos, long periodNanos){
+        ticks++;
+        lastNanos = nanos;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+
+        if (nanos > periodNanos) {
+            overruns++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Returns average duration of a tick in nanoseconds.
+     */
+    public synchronized double getAverageNanos(){
+        return (ticks == 0) ? 0 : totalNanos / (double) ticks;
+    }
+
+    public synchronized void reset(){
+        ticks = 0;
+        overruns = 0;
+        lastNanos = 0;
+        maxNanos = 0;
+        totalNanos = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("TickStats[ticks=%d, avg=%.3f ms, max=%.3f ms, overruns=%d]",
+                ticks, getAverageNanos() / 1_000_000, maxNanos / 1_000_000.0, overruns);
+    }
+}
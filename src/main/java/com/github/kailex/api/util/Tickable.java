@@ -1,26 +1,31 @@
 package com.github.kailex.api.util;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Represents an Object with Timer.
+ * Represents an Object with Timer. All Tickables share the threads of TickScheduler.
  *
  * @author Alexander Ley
- * @version 1.5.1
+ * @version 1.6
  */
 public abstract class Tickable {
+    private static final Logger LOGGER = LoggerUtil.getLogger("Tickable");
 
-    private boolean isRunning = false;
-    private boolean isReady = true;
+    private volatile boolean isRunning = false;
+    private volatile boolean isReady = true;
 
-    protected Timer timer = new Timer();
-    protected TimerTask task = new TimerTask() {
-        @Override
-        public void run() {
-            checkTick();
-        }
-    };
+    private @Nullable ScheduledFuture<?> future;
+    private long periodNanos;
+
+    /**
+     * Timing statistics of all ticks.
+     */
+    @Getter private final TickStats stats = new TickStats();
 
     /**
      * Task Loop
@@ -32,7 +37,27 @@ public abstract class Tickable {
      */
     public void checkTick(){
         if (!isRunning) forceStop();
-        else tick();
+        else {
+            final long start = System.nanoTime();
+
+            try {
+                tick();
+            }
+            catch (RuntimeException e) {
+                //Like a failing timer task an exception ends the timer.
+                LOGGER.log(Level.SEVERE, getClass().getName() + " failed in tick.", e);
+                forceStop();
+            }
+
+            if (stats.record(System.nanoTime() - start, periodNanos)) onOverrun();
+        }
+    }
+
+    /**
+     * Is called if a tick took longer than period. Logs overrun by default.
+     */
+    protected void onOverrun(){
+        LOGGER.log(Level.FINE, getClass().getName() + " overran its period (" + stats.getLastNanos() / 1_000_000.0 + " ms).");
     }
 
     public boolean isRunning(){
@@ -49,13 +74,14 @@ public abstract class Tickable {
      * @param period Timer period.
      * @throws IllegalStateException if timer is already started.
      */
-    public void start(long delay, long period){
+    public synchronized void start(long delay, long period){
         if (!isReady) throw new IllegalStateException("Timer is already started.");
 
         isRunning = true;
         isReady = false;
 
-        timer.schedule(task, delay, period);
+        periodNanos = period * 1_000_000;
+        future = TickScheduler.schedule(this::checkTick, delay, period);
     }
 
     /**
@@ -68,25 +94,19 @@ public abstract class Tickable {
     /**
      * Stops Timer immediately. If tick() is running it will be run to end.
      */
-    public void forceStop() {
-        timer.cancel();
+    public synchronized void forceStop() {
+        if (future != null) future.cancel(false);
         isRunning = false;
     }
 
     /**
      * Tries to refresh timer object, so that it can start again.
      * It is only refresh-able if the timer was at least one time started and stopped.
-     * Note Refreshing timer lets application open.
      */
-    public void refresh(){
+    public synchronized void refresh(){
         if (!isRunning) {
-            timer = new Timer();
-            task = new TimerTask() {
-                @Override
-                public void run() {
-                    checkTick();
-                }
-            };
+            if (future != null) future.cancel(false);
+            future = null;
             isReady = true;
         }
     }
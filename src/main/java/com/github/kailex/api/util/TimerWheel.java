@@ -0,0 +1,273 @@
+package com.github.kailex.api.util;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class is a hashed timer wheel for delayed and periodic actions. All timers share one daemon thread,
+ * which advances the wheel every tick. Actions which expire in the same tick are handed to the dispatcher
+ * as one batch (e.g. one Platform.runLater per tick). The thread sleeps while no timer is pending.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class TimerWheel {
+    private static final Logger LOGGER = LoggerUtil.getLogger("TimerWheel");
+
+    @Getter private final long tickMillis;
+    private final long tickNanos;
+    private final int mask;
+
+    /**
+     * Timers per slot. Only accessed by wheel thread.
+     */
+    private final List<List<Timeout>> wheel;
+
+    /**
+     * Timers which were scheduled, but are not in wheel yet.
+     */
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * Runs a batch of expired actions (e.g. Platform::runLater).
+     */
+    private final Consumer<Runnable> dispatcher;
+
+    private final String name;
+    private volatile Thread thread;
+    private long startTime;
+
+    /**
+     * @param tickMillis resolution of wheel in milliseconds.
+     * @param wheelSize amount of slots (rounded up to a power of two).
+     * @param dispatcher runs a batch of expired actions (e.g. Platform::runLater).
+     */
+    public TimerWheel(String name, long tickMillis, int wheelSize, Consumer<Runnable> dispatcher) {
+        if (tickMillis <= 0) throw new IllegalArgumentException(tickMillis + " is not a valid tick duration.");
+        if (wheelSize <= 0 || wheelSize > (1 << 20)) throw new IllegalArgumentException(wheelSize + " is not a valid wheel size.");
+
+        final int size = Integer.highestOneBit(wheelSize * 2 - 1);
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.tickNanos = tickMillis * 1_000_000;
+        this.mask = size - 1;
+        this.dispatcher = dispatcher;
+
+        wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) wheel.add(new ArrayList<>());
+    }
+
+    /**
+     * Runs action once after delay.
+     * @param delay delay in milliseconds.
+     * @return Returns timeout to cancel action.
+     */
+    public Timeout schedule(long delay, Runnable action){
+        return schedule(delay, 0, action);
+    }
+
+    /**
+     * Runs action after delay and then every period (fixed rate).
+     * @param delay delay in milliseconds.
+     * @param period period in milliseconds (0 runs action only once).
+     * @return Returns timeout to cancel action.
+     */
+    public Timeout schedule(long delay, long period, Runnable action){
+        if (period < 0) throw new IllegalArgumentException(period + " is not a valid period.");
+
+        final Timeout timeout = new Timeout(this, System.nanoTime() + Math.max(0, delay) * 1_000_000, period * 1_000_000, action);
+        pending.incrementAndGet();
+        added.add(timeout);
+
+        ensureRunning();
+        LockSupport.unpark(thread);
+        return timeout;
+    }
+
+    /**
+     * @return Returns amount of pending (not expired and not cancelled) timers.
+     */
+    public int getPending(){
+        return pending.get();
+    }
+
+    private synchronized void ensureRunning(){
+        if (thread != null) return;
+
+        startTime = System.nanoTime();
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(){
+        long tick = 0;
+
+        while (true) {
+            //Sleeps until a timer is added if wheel is empty and skips all ticks it slept over.
+            if (pending.get() == 0) {
+                LockSupport.park(this);
+                tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+                continue;
+            }
+
+            final long deadline = startTime + (tick + 1) * tickNanos;
+            final long sleep = deadline - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                if (System.nanoTime() < deadline) continue;
+            }
+            tick++;
+
+            transferAdded(tick);
+
+            final List<Timeout> expired = expire(tick);
+            if (!expired.isEmpty()) dispatch(expired);
+        }
+    }
+
+    /**
+     * Hands expired timers to dispatcher. A failing dispatcher (e.g. Platform.runLater before JavaFx is started
+     * or after it exited) must not end the wheel thread, so the batch is logged and skipped.
+     * Skipped one-shot timers are cancelled, periodic timers try again with their next period.
+     */
+    private void dispatch(List<Timeout> expired){
+        try {
+            dispatcher.accept(() -> {
+                for (Timeout timeout : expired) timeout.runAction();
+            });
+        }
+        catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Cannot dispatch " + expired.size() + " expired timers.", e);
+            for (Timeout timeout : expired){
+                if (timeout.period == 0) timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * Moves added timers into their slot.
+     */
+    private void transferAdded(long tick){
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.cancelled) continue;
+            insert(timeout, tick);
+        }
+    }
+
+    private void insert(Timeout timeout, long tick){
+        final long due = Math.max(tick, ceilDiv(timeout.deadline - startTime, tickNanos));
+        timeout.rounds = (due - tick) / wheel.size();
+        wheel.get((int) (due & mask)).add(timeout);
+    }
+
+    /**
+     * Removes expired and cancelled timers of slot. Periodic timers are inserted again.
+     * @return Returns expired timers.
+     */
+    private List<Timeout> expire(long tick){
+        final List<Timeout> slot = wheel.get((int) (tick & mask));
+        final List<Timeout> expired = new ArrayList<>();
+        final List<Timeout> periodic = new ArrayList<>();
+
+        int kept = 0;
+        for (Timeout timeout : slot){
+            if (timeout.cancelled) continue;
+
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                slot.set(kept++, timeout);
+                continue;
+            }
+
+            expired.add(timeout);
+            if (timeout.period > 0) {
+                timeout.deadline += timeout.period;
+                periodic.add(timeout);
+            }
+        }
+        slot.subList(kept, slot.size()).clear();
+
+        for (Timeout timeout : periodic) insert(timeout, tick + 1);
+        return expired;
+    }
+
+    private static long ceilDiv(long a, long b){
+        return -Math.floorDiv(-a, b);
+    }
+
+    /**
+     * Handle of a scheduled action.
+     */
+    public static class Timeout {
+        private final TimerWheel wheel;
+        private final Runnable action;
+        private final long period;
+
+        /**
+         * Only accessed by wheel thread.
+         */
+        private long deadline;
+        private long rounds;
+
+        private volatile boolean cancelled = false;
+        private volatile boolean expired = false;
+
+        private Timeout(TimerWheel wheel, long deadline, long period, Runnable action) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.period = period;
+            this.action = action;
+        }
+
+        /**
+         * Cancels action. Action does not run anymore, even if it already expired but was not dispatched yet.
+         * @return Returns false if action was already cancelled or has run (one-shot actions).
+         */
+        public boolean cancel(){
+            synchronized (this) {
+                if (cancelled || expired) return false;
+                cancelled = true;
+            }
+            wheel.pending.decrementAndGet();
+            return true;
+        }
+
+        public boolean isCancelled(){
+            return cancelled;
+        }
+
+        /**
+         * @return Returns true if one-shot action has run.
+         */
+        public boolean isExpired(){
+            return expired;
+        }
+
+        private void runAction(){
+            synchronized (this) {
+                if (cancelled || expired) return;
+                if (period == 0) expired = true;
+            }
+            if (period == 0) wheel.pending.decrementAndGet();
+
+            try {
+                action.run();
+            }
+            catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Timer action failed.", e);
+            }
+        }
+    }
+}
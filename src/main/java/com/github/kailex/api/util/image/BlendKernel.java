@@ -0,0 +1,45 @@
+package com.github.kailex.api.util.image;
+
+/**
+ * This class draws textures over each other (source over alpha compositing of non premultiplied ARGB).
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class BlendKernel {
+
+    /**
+     * Draws texture over dst at top left corner. Pixels outside of dst are ignored.
+     */
+    public static void drawOver(Raster dst, TextureData texture){
+        final Raster source = texture.toRaster();
+        final int width = Math.min(dst.getWidth(), source.getWidth());
+        final int height = Math.min(dst.getHeight(), source.getHeight());
+        final int[] src = source.getPixels();
+        final int[] out = dst.getPixels();
+
+        for (int y = 0; y < height; y++){
+            for (int x = 0, s = y * source.getWidth(), d = y * dst.getWidth(); x < width; x++, s++, d++){
+                out[d] = over(src[s], out[d]);
+            }
+        }
+    }
+
+    /**
+     * @return Returns src drawn over dst (both non premultiplied ARGB).
+     */
+    public static int over(int src, int dst){
+        final int srcAlpha = src >>> 24;
+        if (srcAlpha == 255) return src;
+        if (srcAlpha == 0) return dst;
+
+        //Alpha of dst which shines through src (scaled by 255).
+        final int dstAlpha = (dst >>> 24) * (255 - srcAlpha) / 255;
+        final int alpha = srcAlpha + dstAlpha;
+
+        final int red = (((src >>> 16) & 0xFF) * srcAlpha + ((dst >>> 16) & 0xFF) * dstAlpha) / alpha;
+        final int green = (((src >>> 8) & 0xFF) * srcAlpha + ((dst >>> 8) & 0xFF) * dstAlpha) / alpha;
+        final int blue = ((src & 0xFF) * srcAlpha + (dst & 0xFF) * dstAlpha) / alpha;
+        return alpha << 24 | red << 16 | green << 8 | blue;
+    }
+}
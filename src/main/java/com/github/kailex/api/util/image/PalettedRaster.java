@@ -0,0 +1,170 @@
+package com.github.kailex.api.util.image;
+
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * This class stores a low colour texture as palette and packed 1, 2, 4 or 8 bit indices.
+ * Pixels are only expanded to ARGB if they are copied into an atlas or framebuffer.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class PalettedRaster implements TextureData {
+
+    @Getter private final int width;
+    @Getter private final int height;
+
+    /**
+     * ARGB colors.
+     */
+    private final int[] palette;
+
+    /**
+     * Bits per index (1, 2, 4 or 8).
+     */
+    @Getter private final int bits;
+
+    /**
+     * Indices in row major order, most significant bits first (like png).
+     */
+    private final byte[] indices;
+
+    private PalettedRaster(int width, int height, int[] palette, int bits, byte[] indices) {
+        this.width = width;
+        this.height = height;
+        this.palette = palette;
+        this.bits = bits;
+        this.indices = indices;
+    }
+
+    /**
+     * Wraps palette and packed indices (e.g. read from texture cache). Arrays are not copied.
+     * @param bits bits per index (1, 2, 4 or 8).
+     * @throws IllegalArgumentException if size, bits, palette or indices are not valid.
+     */
+    public static PalettedRaster of(int width, int height, int[] palette, int bits, byte[] indices){
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException(width + "x" + height + " is not a valid size.");
+        if (bits != 1 && bits != 2 && bits != 4 && bits != 8) throw new IllegalArgumentException(bits + " is not a valid amount of bits.");
+        if (palette.length == 0 || palette.length > (1 << bits)) throw new IllegalArgumentException(palette.length + " is not a valid palette size.");
+        if (indices.length != indexBytes(width, height, bits)) throw new IllegalArgumentException(indices.length + " is not a valid amount of index bytes.");
+
+        return new PalettedRaster(width, height, palette, bits, indices);
+    }
+
+    /**
+     * @return Returns size of packed indices in bytes.
+     */
+    public static int indexBytes(int width, int height, int bits){
+        return Math.toIntExact(((long) width * height * bits + 7) / 8);
+    }
+
+    /**
+     * Compresses raster if it has at most 256 colors and palette storage is smaller than full storage.
+     * @return Returns compressed raster or null if compression is not worthwhile.
+     */
+    public static @Nullable PalettedRaster compress(Raster raster){
+        final int[] pixels = raster.getPixels();
+        final int size = raster.getWidth() * raster.getHeight();
+
+        //Open addressing table color -> palette index (table is twice as large as max palette).
+        final int[] tableKeys = new int[512];
+        final int[] tableValues = new int[512];
+        Arrays.fill(tableValues, -1);
+
+        final int[] palette = new int[256];
+        final byte[] rawIndices = new byte[size];
+        int colors = 0;
+
+        for (int i = 0; i < size; i++){
+            final int argb = pixels[i];
+            int slot = mix(argb) & 511;
+
+            while (tableValues[slot] >= 0 && tableKeys[slot] != argb) {
+                slot = (slot + 1) & 511;
+            }
+
+            if (tableValues[slot] < 0) {
+                if (colors == 256) return null;
+
+                tableKeys[slot] = argb;
+                tableValues[slot] = colors;
+                palette[colors++] = argb;
+            }
+            rawIndices[i] = (byte) tableValues[slot];
+        }
+
+        final int bits = (colors <= 2) ? 1 : (colors <= 4) ? 2 : (colors <= 16) ? 4 : 8;
+        final long packedSize = ((long) size * bits + 7) / 8 + 4L * colors;
+        if (packedSize >= raster.byteSize()) return null;
+
+        final byte[] indices = new byte[indexBytes(raster.getWidth(), raster.getHeight(), bits)];
+        for (int i = 0; i < size; i++){
+            final int bitPos = i * bits;
+            indices[bitPos >>> 3] |= (rawIndices[i] & 0xFF) << (8 - bits - (bitPos & 7));
+        }
+
+        return new PalettedRaster(raster.getWidth(), raster.getHeight(), Arrays.copyOf(palette, colors), bits, indices);
+    }
+
+    /**
+     * @return Returns compressed raster if worthwhile or the raster itself.
+     */
+    public static TextureData compressIfPossible(Raster raster){
+        final PalettedRaster paletted = compress(raster);
+        return (paletted == null) ? raster : paletted;
+    }
+
+    private static int mix(int value){
+        value *= 0x9E3779B9;
+        return value ^ (value >>> 16);
+    }
+
+    private int index(int i){
+        if (bits == 8) return indices[i] & 0xFF;
+
+        final int bitPos = i * bits;
+        return (indices[bitPos >>> 3] >>> (8 - bits - (bitPos & 7))) & ((1 << bits) - 1);
+    }
+
+    @Override
+    public int getArgb(int x, int y){
+        return palette[index(y * width + x)];
+    }
+
+    public int getPaletteSize(){
+        return palette.length;
+    }
+
+    /**
+     * @return Returns copy of ARGB palette.
+     */
+    public int[] getPalette(){
+        return palette.clone();
+    }
+
+    /**
+     * @return Returns copy of packed indices (row major order, most significant bits first).
+     */
+    public byte[] getIndices(){
+        return indices.clone();
+    }
+
+    @Override
+    public void copyTo(int[] dst, int offset, int stride){
+        for (int y = 0, i = 0; y < height; y++){
+            final int rowStart = offset + y * stride;
+
+            for (int x = 0; x < width; x++, i++){
+                dst[rowStart + x] = palette[index(i)];
+            }
+        }
+    }
+
+    @Override
+    public long byteSize(){
+        return indices.length + 4L * palette.length;
+    }
+}
@@ -0,0 +1,387 @@
+package com.github.kailex.api.util.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * This class decodes PNG files directly into primitive rasters without JavaFx, so it can be used headless and on any thread.
+ * Supported are grey, grey + alpha, RGB, RGBA (8 and 16 bit) and palette images (1, 2, 4 and 8 bit) including tRNS transparency.
+ * Interlaced images are not supported (Minecraft textures are never interlaced).
+ * Inflater and scratch buffers are reused per thread. CRC checksums are not validated.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class PngDecoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private static final int IHDR = 0x49484452;
+    private static final int PLTE = 0x504C5445;
+    private static final int TRNS = 0x74524E53;
+    private static final int IDAT = 0x49444154;
+    private static final int IEND = 0x49454E44;
+
+    private static final int GREY = 0;
+    private static final int RGB = 2;
+    private static final int PALETTE = 3;
+    private static final int GREY_ALPHA = 4;
+    private static final int RGBA = 6;
+
+    /**
+     * Reusable state of one thread.
+     */
+    private static final ThreadLocal<DecoderState> STATE = ThreadLocal.withInitial(DecoderState::new);
+
+    /**
+     * Decodes png file.
+     * @throws IOException if file cannot be read or is not a valid (supported) png.
+     */
+    public static Raster decode(Path path) throws IOException {
+        final byte[] data = Files.readAllBytes(path);
+        return decode(data, 0, data.length);
+    }
+
+    /**
+     * Decodes png from stream. Stream will be read to end, but not closed.
+     * @throws IOException if stream cannot be read or is not a valid (supported) png.
+     */
+    public static Raster decode(InputStream stream) throws IOException {
+        final byte[] data = stream.readAllBytes();
+        return decode(data, 0, data.length);
+    }
+
+    /**
+     * Decodes png from byte array.
+     * @param offset start of png data.
+     * @param length length of png data.
+     * @throws IOException if data is not a valid (supported) png.
+     */
+    public static Raster decode(byte[] data, int offset, int length) throws IOException {
+        final int end = offset + length;
+        if (length < SIGNATURE.length) throw new IOException("Data is not a png.");
+
+        for (int i = 0; i < SIGNATURE.length; i++){
+            if (data[offset + i] != SIGNATURE[i]) throw new IOException("Data is not a png.");
+        }
+
+        final DecoderState state = STATE.get();
+        state.compressedLength = 0;
+
+        int width = 0, height = 0, bitDepth = 0, colorType = -1;
+        int[] palette = null;
+        byte[] transparency = null;
+
+        int pos = offset + SIGNATURE.length;
+        while (pos + 8 <= end) {
+            final int chunkLength = readInt(data, pos);
+            final int chunkType = readInt(data, pos + 4);
+            final int chunkData = pos + 8;
+
+            if (chunkLength < 0 || chunkLength > end - chunkData - 4) throw new IOException("Png chunk is truncated.");
+
+            switch (chunkType) {
+                case IHDR:
+                    if (chunkLength < 13) throw new IOException("Png header is truncated.");
+                    width = readInt(data, chunkData);
+                    height = readInt(data, chunkData + 4);
+                    bitDepth = data[chunkData + 8] & 0xFF;
+                    colorType = data[chunkData + 9] & 0xFF;
+
+                    if (width <= 0 || height <= 0) throw new IOException(width + "x" + height + " is not a valid png size.");
+                    if (data[chunkData + 10] != 0 || data[chunkData + 11] != 0) throw new IOException("Png compression or filter method is not supported.");
+                    if (data[chunkData + 12] != 0) throw new IOException("Interlaced pngs are not supported.");
+                    checkFormat(colorType, bitDepth);
+                    break;
+                case PLTE:
+                    palette = new int[chunkLength / 3];
+                    for (int i = 0; i < palette.length; i++){
+                        final int p = chunkData + i * 3;
+                        palette[i] = 0xFF000000 | (data[p] & 0xFF) << 16 | (data[p + 1] & 0xFF) << 8 | (data[p + 2] & 0xFF);
+                    }
+                    break;
+                case TRNS:
+                    transparency = new byte[chunkLength];
+                    System.arraycopy(data, chunkData, transparency, 0, chunkLength);
+                    break;
+                case IDAT:
+                    state.appendCompressed(data, chunkData, chunkLength);
+                    break;
+                case IEND:
+                    pos = end;
+                    continue;
+                default:
+                    //Ancillary chunks are ignored.
+                    break;
+            }
+            pos = chunkData + chunkLength + 4;
+        }
+
+        if (colorType < 0) throw new IOException("Png has no header.");
+        if (colorType == PALETTE && palette == null) throw new IOException("Png has no palette.");
+
+        //Applies tRNS to palette
+        if (palette != null && transparency != null && colorType == PALETTE){
+            for (int i = 0; i < Math.min(palette.length, transparency.length); i++){
+                palette[i] = (palette[i] & 0x00FFFFFF) | (transparency[i] & 0xFF) << 24;
+            }
+        }
+
+        final int channels = channels(colorType);
+        final int bitsPerPixel = channels * bitDepth;
+        final int bytesPerPixel = Math.max(1, bitsPerPixel / 8);
+        final int stride;
+        final int rawLength;
+        final int[] pixels;
+
+        try {
+            stride = Math.toIntExact(((long) width * bitsPerPixel + 7) / 8);
+            rawLength = Math.multiplyExact(height, stride + 1);
+            pixels = new int[Math.multiplyExact(width, height)];
+        }
+        catch (ArithmeticException e) {
+            throw new IOException(width + "x" + height + " is too large.");
+        }
+
+        final byte[] raw = state.inflate(rawLength);
+
+        for (int y = 0; y < height; y++){
+            final int rowStart = y * (stride + 1) + 1;
+            final int prevStart = (y == 0) ? -1 : rowStart - stride - 1;
+
+            unfilter(raw[rowStart - 1] & 0xFF, raw, rowStart, prevStart, stride, bytesPerPixel);
+            convertRow(raw, rowStart, pixels, y * width, width, colorType, bitDepth, palette, transparency);
+        }
+
+        return new Raster(width, height, pixels);
+    }
+
+    private static void checkFormat(int colorType, int bitDepth) throws IOException {
+        final boolean valid;
+
+        switch (colorType) {
+            case GREY:
+                valid = bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8 || bitDepth == 16;
+                break;
+            case PALETTE:
+                valid = bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8;
+                break;
+            case RGB:
+            case GREY_ALPHA:
+            case RGBA:
+                valid = bitDepth == 8 || bitDepth == 16;
+                break;
+            default:
+                valid = false;
+        }
+
+        if (!valid) throw new IOException("Color type " + colorType + " with bit depth " + bitDepth + " is not supported.");
+    }
+
+    private static int channels(int colorType){
+        switch (colorType) {
+            case RGB: return 3;
+            case GREY_ALPHA: return 2;
+            case RGBA: return 4;
+            default: return 1;
+        }
+    }
+
+    /**
+     * Reverses png scanline filter in place.
+     * @param prevStart start of previous row or -1 if row is first row.
+     */
+    private static void unfilter(int filter, byte[] raw, int start, int prevStart, int stride, int bpp) throws IOException {
+        switch (filter) {
+            case 0:
+                break;
+            case 1:
+                for (int i = bpp; i < stride; i++){
+                    raw[start + i] += raw[start + i - bpp];
+                }
+                break;
+            case 2:
+                if (prevStart < 0) break;
+                for (int i = 0; i < stride; i++){
+                    raw[start + i] += raw[prevStart + i];
+                }
+                break;
+            case 3:
+                for (int i = 0; i < stride; i++){
+                    final int left = (i >= bpp) ? raw[start + i - bpp] & 0xFF : 0;
+                    final int up = (prevStart >= 0) ? raw[prevStart + i] & 0xFF : 0;
+                    raw[start + i] += (byte) ((left + up) >>> 1);
+                }
+                break;
+            case 4:
+                for (int i = 0; i < stride; i++){
+                    final int left = (i >= bpp) ? raw[start + i - bpp] & 0xFF : 0;
+                    final int up = (prevStart >= 0) ? raw[prevStart + i] & 0xFF : 0;
+                    final int upLeft = (i >= bpp && prevStart >= 0) ? raw[prevStart + i - bpp] & 0xFF : 0;
+                    raw[start + i] += (byte) paeth(left, up, upLeft);
+                }
+                break;
+            default:
+                throw new IOException(filter + " is not a valid png filter.");
+        }
+    }
+
+    private static int paeth(int a, int b, int c){
+        final int p = a + b - c;
+        final int pa = Math.abs(p - a);
+        final int pb = Math.abs(p - b);
+        final int pc = Math.abs(p - c);
+
+        if (pa <= pb && pa <= pc) return a;
+        if (pb <= pc) return b;
+        return c;
+    }
+
+    /**
+     * Converts one unfiltered scanline into ARGB pixels.
+     */
+    private static void convertRow(byte[] raw, int start, int[] pixels, int pixelStart, int width, int colorType,
+                                   int bitDepth, int[] palette, byte[] transparency){
+        switch (colorType) {
+            case RGBA: {
+                final int sample = bitDepth / 8;
+                for (int x = 0, p = start; x < width; x++, p += 4 * sample){
+                    pixels[pixelStart + x] = (raw[p + 3 * sample] & 0xFF) << 24
+                            | (raw[p] & 0xFF) << 16
+                            | (raw[p + sample] & 0xFF) << 8
+                            | (raw[p + 2 * sample] & 0xFF);
+                }
+                break;
+            }
+            case RGB: {
+                final int sample = bitDepth / 8;
+                final long transparent;
+                if (transparency == null || transparency.length < 6) transparent = -1;
+                else if (sample == 2) transparent = readSamples(transparency, 0, 2);
+                else transparent = (transparency[1] & 0xFF) << 16 | (transparency[3] & 0xFF) << 8 | (transparency[5] & 0xFF);
+
+
+                for (int x = 0, p = start; x < width; x++, p += 3 * sample){
+                    final int rgb = (raw[p] & 0xFF) << 16 | (raw[p + sample] & 0xFF) << 8 | (raw[p + 2 * sample] & 0xFF);
+                    final boolean isTransparent = transparent >= 0 && readSamples(raw, p, sample) == transparent;
+                    pixels[pixelStart + x] = (isTransparent ? 0 : 0xFF000000) | rgb;
+                }
+                break;
+            }
+            case GREY_ALPHA: {
+                final int sample = bitDepth / 8;
+                for (int x = 0, p = start; x < width; x++, p += 2 * sample){
+                    final int grey = raw[p] & 0xFF;
+                    pixels[pixelStart + x] = (raw[p + sample] & 0xFF) << 24 | grey << 16 | grey << 8 | grey;
+                }
+                break;
+            }
+            case GREY: {
+                final int transparent = (transparency != null && transparency.length >= 2)
+                        ? ((transparency[0] & 0xFF) << 8 | (transparency[1] & 0xFF)) : -1;
+
+                if (bitDepth == 16) {
+                    for (int x = 0, p = start; x < width; x++, p += 2){
+                        final int grey = raw[p] & 0xFF;
+                        final int value = grey << 8 | (raw[p + 1] & 0xFF);
+                        pixels[pixelStart + x] = ((value == transparent) ? 0 : 0xFF000000) | grey << 16 | grey << 8 | grey;
+                    }
+                    break;
+                }
+
+                final int max = (1 << bitDepth) - 1;
+                for (int x = 0; x < width; x++){
+                    final int value = readPacked(raw, start, x, bitDepth);
+                    final int grey = value * 255 / max;
+                    pixels[pixelStart + x] = ((value == transparent) ? 0 : 0xFF000000) | grey << 16 | grey << 8 | grey;
+                }
+                break;
+            }
+            case PALETTE: {
+                for (int x = 0; x < width; x++){
+                    final int index = readPacked(raw, start, x, bitDepth);
+                    pixels[pixelStart + x] = (index < palette.length) ? palette[index] : 0;
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Color type " + colorType + " is not supported.");
+        }
+    }
+
+    /**
+     * Reads a 1, 2, 4 or 8 bit sample at position x of row.
+     */
+    private static int readPacked(byte[] raw, int start, int x, int bitDepth){
+        if (bitDepth == 8) return raw[start + x] & 0xFF;
+
+        final int bitPos = x * bitDepth;
+        final int shift = 8 - bitDepth - (bitPos & 7);
+        return (raw[start + (bitPos >>> 3)] >>> shift) & ((1 << bitDepth) - 1);
+    }
+
+    /**
+     * Reads three 8 or 16 bit samples as one number to compare them with tRNS color.
+     * @param sample bytes per sample (1 or 2).
+     */
+    private static long readSamples(byte[] data, int pos, int sample){
+        long value = 0;
+        for (int i = 0; i < 3 * sample; i++){
+            value = value << 8 | (data[pos + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int readInt(byte[] data, int pos){
+        return (data[pos] & 0xFF) << 24 | (data[pos + 1] & 0xFF) << 16 | (data[pos + 2] & 0xFF) << 8 | (data[pos + 3] & 0xFF);
+    }
+
+    /**
+     * Scratch buffers and inflater of one thread.
+     */
+    private static class DecoderState {
+        private final Inflater inflater = new Inflater();
+        private byte[] compressed = new byte[8192];
+        private int compressedLength;
+        private byte[] raw = new byte[8192];
+
+        private void appendCompressed(byte[] data, int offset, int length){
+            if (compressedLength + length > compressed.length) {
+                final byte[] grown = new byte[Math.max(compressed.length * 2, compressedLength + length)];
+                System.arraycopy(compressed, 0, grown, 0, compressedLength);
+                compressed = grown;
+            }
+            System.arraycopy(data, offset, compressed, compressedLength, length);
+            compressedLength += length;
+        }
+
+        /**
+         * Inflates all collected IDAT data. Returned array is reused and can be larger than size.
+         */
+        private byte[] inflate(int size) throws IOException {
+            if (raw.length < size) raw = new byte[size];
+
+            inflater.reset();
+            inflater.setInput(compressed, 0, compressedLength);
+
+            try {
+                int inflated = 0;
+                while (inflated < size) {
+                    final int count = inflater.inflate(raw, inflated, size - inflated);
+                    if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) break;
+                    inflated += count;
+                }
+                if (inflated < size) throw new IOException("Png image data is truncated.");
+            }
+            catch (DataFormatException e) {
+                throw new IOException("Png image data is corrupt.", e);
+            }
+
+            return raw;
+        }
+    }
+}
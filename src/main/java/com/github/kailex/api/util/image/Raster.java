@@ -0,0 +1,170 @@
+package com.github.kailex.api.util.image;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * This class stores a decoded image as primitive pixel array and does not need JavaFx.
+ * Every pixel is stored as non premultiplied ARGB int (same layout as PixelFormat.getIntArgbInstance()).
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class Raster implements TextureData {
+
+    @Getter private final int width;
+    @Getter private final int height;
+
+    /**
+     * Pixels in row major order (index = y * width + x).
+     */
+    @Getter private final int[] pixels;
+
+    /**
+     * Creates an empty (fully transparent) raster.
+     */
+    public Raster(int width, int height){
+        this(width, height, new int[checkSize(width, height)]);
+    }
+
+    /**
+     * Wraps an existing pixel array (array is not copied).
+     */
+    public Raster(int width, int height, int[] pixels){
+        if (pixels.length < checkSize(width, height)) throw new IllegalArgumentException(pixels.length + " pixels are not enough for " + width + "x" + height + ".");
+
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+    }
+
+    private static int checkSize(int width, int height){
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException(width + "x" + height + " is not a valid size.");
+        return Math.multiplyExact(width, height);
+    }
+
+    @Override
+    public int getArgb(int x, int y){
+        return pixels[y * width + x];
+    }
+
+    public void setArgb(int x, int y, int argb){
+        pixels[y * width + x] = argb;
+    }
+
+    @Override
+    public long byteSize(){
+        return (long) width * height * 4;
+    }
+
+    @Override
+    public void copyTo(int[] dst, int offset, int stride){
+        for (int row = 0; row < height; row++){
+            System.arraycopy(pixels, row * width, dst, offset + row * stride, width);
+        }
+    }
+
+    @Override
+    public Raster toRaster(){
+        return this;
+    }
+
+    /**
+     * Copies a rectangle of this raster into a new raster.
+     */
+    public Raster copyRegion(int x, int y, int regionWidth, int regionHeight){
+        if (x < 0 || y < 0 || x + regionWidth > width || y + regionHeight > height) {
+            throw new IllegalArgumentException(x + ", " + y + ", " + regionWidth + "x" + regionHeight + " is not in raster.");
+        }
+
+        final Raster region = new Raster(regionWidth, regionHeight);
+        for (int row = 0; row < regionHeight; row++){
+            System.arraycopy(pixels, (y + row) * width + x, region.pixels, row * regionWidth, regionWidth);
+        }
+        return region;
+    }
+
+    /**
+     * Rotates raster clockwise (like javafx.scene.transform.Rotate in screen coordinates).
+     * @param degrees multiple of 90 (negative values rotate counterclockwise).
+     * @return Returns new rotated raster (width and height are swapped for 90 and 270 degrees).
+     */
+    public Raster rotate(int degrees){
+        if (degrees % 90 != 0) throw new IllegalArgumentException(degrees + " is not a multiple of 90 degrees.");
+        final int turns = Math.floorMod(degrees, 360) / 90;
+
+        final Raster rotated = (turns % 2 == 0) ? new Raster(width, height) : new Raster(height, width);
+        final int[] dst = rotated.pixels;
+
+        for (int y = 0, i = 0; y < height; y++){
+            for (int x = 0; x < width; x++, i++){
+                switch (turns) {
+                    case 0: dst[i] = pixels[i]; break;
+                    case 1: dst[x * height + (height - 1 - y)] = pixels[i]; break;
+                    case 2: dst[(height - 1 - y) * width + (width - 1 - x)] = pixels[i]; break;
+                    default: dst[(width - 1 - x) * height + y] = pixels[i]; break;
+                }
+            }
+        }
+        return rotated;
+    }
+
+    /**
+     * Writes all pixels as RGBA bytes into buffer (starting at current position).
+     * @throws java.nio.BufferOverflowException if buffer has not enough remaining bytes.
+     */
+    public void writeRgba(ByteBuffer buffer){
+        final int size = width * height;
+        for (int i = 0; i < size; i++){
+            final int argb = pixels[i];
+            buffer.put((byte) (argb >>> 16))
+                    .put((byte) (argb >>> 8))
+                    .put((byte) argb)
+                    .put((byte) (argb >>> 24));
+        }
+    }
+
+    /**
+     * @return Returns a new direct buffer with all pixels as RGBA bytes (position 0).
+     */
+    public ByteBuffer toRgbaBuffer(){
+        final ByteBuffer buffer = ByteBuffer.allocateDirect((int) byteSize());
+        writeRgba(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @return Returns 64 bit hash of size and pixels (used to find duplicate textures, equals(...) decides on collision).
+     */
+    public long contentHash(){
+        long hash = 0xCBF29CE484222325L ^ ((long) width << 32 | height);
+        for (int i = 0, size = width * height; i < size; i++){
+            hash = (hash ^ pixels[i]) * 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        return hash ^ (hash >>> 33);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Raster)) return false;
+
+        final Raster raster = (Raster) obj;
+        return width == raster.width && height == raster.height
+                && Arrays.equals(pixels, 0, width * height, raster.pixels, 0, width * height);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * width + height;
+        for (int i = 0, size = width * height; i < size; i++){
+            result = 31 * result + pixels[i];
+        }
+        return result;
+    }
+}
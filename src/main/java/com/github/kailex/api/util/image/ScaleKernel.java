@@ -0,0 +1,71 @@
+package com.github.kailex.api.util.image;
+
+/**
+ * This class scales rasters by integer factors with nearest neighbour sampling, so pixel art stays sharp.
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class ScaleKernel {
+
+    /**
+     * Scales texture by factor. Every source pixel becomes a factor x factor block.
+     * @param factor scale factor (at least 1).
+     * @return Returns new scaled raster (or a copy of texture if factor is 1).
+     */
+    public static Raster scaleNearest(TextureData texture, int factor){
+        if (factor < 1) throw new IllegalArgumentException(factor + " is not a valid scale factor.");
+
+        final Raster source = texture.toRaster();
+        final int width = source.getWidth();
+        final int height = source.getHeight();
+        final int[] src = source.getPixels();
+
+        final Raster scaled = new Raster(Math.multiplyExact(width, factor), Math.multiplyExact(height, factor));
+        final int[] dst = scaled.getPixels();
+        final int dstWidth = scaled.getWidth();
+
+        for (int y = 0; y < height; y++){
+            final int rowStart = y * factor * dstWidth;
+
+            //Expands first row of block ...
+            for (int x = 0, d = rowStart; x < width; x++){
+                final int argb = src[y * width + x];
+                for (int i = 0; i < factor; i++) dst[d++] = argb;
+            }
+
+            //... and copies it for remaining rows of block.
+            for (int i = 1; i < factor; i++){
+                System.arraycopy(dst, rowStart, dst, rowStart + i * dstWidth, dstWidth);
+            }
+        }
+        return scaled;
+    }
+
+    /**
+     * Scales texture to size with nearest neighbour sampling. Integer factors use scaleNearest(texture, factor).
+     * @return Returns new scaled raster (or a copy of texture if size is equal).
+     */
+    public static Raster scaleNearest(TextureData texture, int width, int height){
+        final int srcWidth = texture.getWidth();
+        final int srcHeight = texture.getHeight();
+
+        if (width % srcWidth == 0 && height % srcHeight == 0 && width / srcWidth == height / srcHeight) {
+            return scaleNearest(texture, width / srcWidth);
+        }
+
+        final Raster source = texture.toRaster();
+        final int[] src = source.getPixels();
+        final Raster scaled = new Raster(width, height);
+        final int[] dst = scaled.getPixels();
+
+        for (int y = 0, d = 0; y < height; y++){
+            final int rowStart = (int) ((long) y * srcHeight / height) * srcWidth;
+
+            for (int x = 0; x < width; x++){
+                dst[d++] = src[rowStart + (int) ((long) x * srcWidth / width)];
+            }
+        }
+        return scaled;
+    }
+}
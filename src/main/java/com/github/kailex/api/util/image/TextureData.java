@@ -0,0 +1,39 @@
+package com.github.kailex.api.util.image;
+
+/**
+ * This interface marks all primitive storage formats of decoded textures (full ARGB raster or palette compressed).
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public interface TextureData {
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * @return Returns non premultiplied ARGB color of pixel.
+     */
+    int getArgb(int x, int y);
+
+    /**
+     * Expands all pixels as ARGB into dst (e.g. an atlas or framebuffer).
+     * @param offset index of top left pixel in dst.
+     * @param stride ints per row of dst.
+     */
+    void copyTo(int[] dst, int offset, int stride);
+
+    /**
+     * @return Returns size of stored pixel data (including palette) in bytes.
+     */
+    long byteSize();
+
+    /**
+     * @return Returns texture as full ARGB raster.
+     */
+    default Raster toRaster(){
+        final Raster raster = new Raster(getWidth(), getHeight());
+        copyTo(raster.getPixels(), 0, getWidth());
+        return raster;
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.kailex.api.util.image;
+
+/**
+ * This class multiplies textures with a tint color (e.g. greyscale grass or foliage with a biome color).
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class TintKernel {
+
+    /**
+     * Multiplies red, green and blue of every pixel with tint. Alpha is kept.
+     * @param rgb tint color (alpha is ignored).
+     * @return Returns new tinted raster.
+     */
+    public static Raster multiply(TextureData texture, int rgb){
+        //Full rasters return themselves in toRaster(), so they have to be copied.
+        final Raster source = texture.toRaster();
+        final Raster result = (source == texture) ? source.copyRegion(0, 0, source.getWidth(), source.getHeight()) : source;
+        final int[] pixels = result.getPixels();
+
+        final int tr = (rgb >>> 16) & 0xFF;
+        final int tg = (rgb >>> 8) & 0xFF;
+        final int tb = rgb & 0xFF;
+
+        for (int i = 0; i < pixels.length; i++){
+            final int argb = pixels[i];
+
+            //(c * t + 255) >> 8 is exact for t = 0 and t = 255 and avoids a division per channel.
+            final int r = (((argb >>> 16) & 0xFF) * tr + 255) >>> 8;
+            final int g = (((argb >>> 8) & 0xFF) * tg + 255) >>> 8;
+            final int b = ((argb & 0xFF) * tb + 255) >>> 8;
+
+            pixels[i] = (argb & 0xFF000000) | (r << 16) | (g << 8) | b;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.kailex.benchmark;
+
+import com.github.kailex.LaunchApplication;
+import com.github.kailex.api.util.ImageUtil;
+import com.github.kailex.api.util.LoggerUtil;
+import com.github.kailex.api.util.image.PngDecoder;
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares PngDecoder with ImageUtil.loadImage(...) on all png files of applied resourcepack.
+ * Usage: PngDecoderBenchmark [resource directory] (default is resource folder in home directory).
+ *
+ * @author Alexander Ley
+ * @version 1.0
+ */
+public class PngDecoderBenchmark {
+    private static final Logger LOGGER = LoggerUtil.getLogger("PngDecoderBenchmark");
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        final Path resourcePath = (args.length > 0) ? Path.of(args[0]) : LaunchApplication.getHomeDir().resolve("resource");
+        final List<Path> files = listPngs(resourcePath);
+
+        if (files.isEmpty()) {
+            LOGGER.log(Level.WARNING, "No png files found in " + resourcePath);
+            return;
+        }
+
+        final long bytes = files.stream().mapToLong(path -> path.toFile().length()).sum();
+        LOGGER.log(Level.INFO, files.size() + " png files (" + bytes / 1024 + " KB) found in " + resourcePath);
+
+        //JavaFx images need a running toolkit.
+        final CountDownLatch fxLatch = new CountDownLatch(1);
+        Platform.startup(fxLatch::countDown);
+        fxLatch.await();
+
+        report("ImageUtil.loadImage", files, bytes, () -> {
+            for (Path path : files) ImageUtil.loadImage(path);
+        });
+
+        report("PngDecoder.decode", files, bytes, () -> {
+            for (Path path : files) PngDecoder.decode(path);
+        });
+
+        report("PngDecoder.decode (parallel)", files, bytes, () -> files.parallelStream().forEach(path -> {
+            try {
+                PngDecoder.decode(path);
+            }
+            catch (IOException e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }));
+
+        Platform.exit();
+    }
+
+    private static List<Path> listPngs(Path root) throws IOException {
+        if (!root.toFile().isDirectory()) return List.of();
+
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(path -> path.toString().endsWith(".png"))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Runs action several times and logs best round.
+     */
+    private static void report(String name, List<Path> files, long bytes, BenchmarkAction action) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) action.run();
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++){
+            final long start = System.nanoTime();
+            action.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        LOGGER.log(Level.INFO, String.format("%-30s %8.1f ms | %7.1f us/file | %6.1f MB/s",
+                name, best / 1e6, best / 1e3 / files.size(), bytes / (best / 1e9) / (1024 * 1024)));
+    }
+
+    private interface BenchmarkAction {
+        void run() throws IOException;
+    }
+}
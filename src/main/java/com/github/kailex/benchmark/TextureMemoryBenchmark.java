@@ -0,0 +1,87 @@
+package com.github.kailex.benchmark;
+
+import com.github.kailex.LaunchApplication;
+import com.github.kailex.api.resourcepack.TextureCache;
+import com.github.kailex.api.resourcepack.TextureManager;
+import com.github.kailex.api.util.LoggerUtil;
+import com.github.kailex.api.util.image.PalettedRaster;
+import com.github.kailex.api.util.image.PngDecoder;
+import com.github.kailex.api.util.image.Raster;
+import com.github.kailex.api.util.image.TextureData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reports resident bytes per texture of applied pack for full ARGB storage and palette compressed storage
+ * and size of the texture cache file (which is mapped on warm starts and stores textures paletted).
+ * Usage: TextureMemoryBenchmark [resource directory] (default is resource folder in home directory).
+ *
+ * @author Alexander Ley
+ * @version 1.1
+ */
+public class TextureMemoryBenchmark {
+    private static final Logger LOGGER = LoggerUtil.getLogger("TextureMemoryBenchmark");
+
+    public static void main(String[] args) throws IOException {
+        final Path resourcePath = (args.length > 0) ? Path.of(args[0]) : LaunchApplication.getHomeDir().resolve("resource");
+        final List<Path> files = TextureManager.listTextures(resourcePath.resolve(TextureManager.TEXTURES_PATH));
+
+        if (files.isEmpty()) {
+            LOGGER.log(Level.WARNING, "No textures found in " + resourcePath);
+            return;
+        }
+
+        long fullBytes = 0;
+        long palettedBytes = 0;
+        int failed = 0;
+
+        //Count of textures per bits per index (index 0 -> full storage, 1, 2, 4, 8 -> paletted).
+        final int[] modes = new int[9];
+        final Map<String, Raster> textures = new HashMap<>();
+        final Path texturesPath = resourcePath.resolve(TextureManager.TEXTURES_PATH);
+
+        for (Path path : files){
+            final Raster raster;
+            try {
+                raster = PngDecoder.decode(path);
+            }
+            catch (IOException e) {
+                failed++;
+                continue;
+            }
+
+            textures.put(TextureManager.toKey(texturesPath, path), raster);
+
+            final TextureData stored = PalettedRaster.compressIfPossible(raster);
+            fullBytes += raster.byteSize();
+            palettedBytes += stored.byteSize();
+            modes[(stored instanceof PalettedRaster) ? ((PalettedRaster) stored).getBits() : 0]++;
+        }
+
+        final int count = files.size() - failed;
+        LOGGER.log(Level.INFO, String.format("%d textures (%d not decodable)", count, failed));
+        LOGGER.log(Level.INFO, String.format("Full ARGB:  %10d bytes | %8.1f bytes/texture", fullBytes, fullBytes / (double) count));
+        LOGGER.log(Level.INFO, String.format("Paletted:   %10d bytes | %8.1f bytes/texture | %.2fx smaller",
+                palettedBytes, palettedBytes / (double) count, fullBytes / (double) palettedBytes));
+        LOGGER.log(Level.INFO, String.format("Storage: full=%d, 1 bit=%d, 2 bit=%d, 4 bit=%d, 8 bit=%d",
+                modes[0], modes[1], modes[2], modes[4], modes[8]));
+
+        //Cache file in a temporary directory, so cache of home directory is not touched.
+        final Path directory = Files.createTempDirectory("texture-benchmark");
+        final Path cacheFile = directory.resolve(TextureManager.CACHE_FILE);
+        TextureCache.write(cacheFile, 0, textures);
+
+        final Path file = TextureCache.getFile(cacheFile, 0);
+        LOGGER.log(Level.INFO, String.format("Cache file: %10d bytes | %.2fx smaller than full ARGB", Files.size(file), fullBytes / (double) Files.size(file)));
+
+        Files.delete(file);
+        Files.delete(directory);
+    }
+}
@@ -1,7 +1,7 @@
 package com.github.kailex.fxWindow;
 
-import com.github.kailex.LaunchApplication;
 import com.github.kailex.api.game.GameSettings;
+import com.github.kailex.api.resourcepack.TextureManager;
 import com.github.kailex.api.util.FxUtils;
 import com.github.kailex.api.util.IController;
 import com.github.kailex.api.util.LoggerUtil;
@@ -11,45 +11,43 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * This class holds all information about and manages Kailex Application.
  *
  * @author Alexander Ley
- * @version 1.0
+ * @version 1.2
  */
 public class KailexApp extends Application {
 
     public static Stage stage;
     public static IController<?> activeController;
 
-    public static final Path HOME_DIR = LaunchApplication.getHomeDir();
-    public static final GameSettings GAME_SETTINGS;
+    /**
+     * Home directory and game settings are set by startup phases (see LaunchApplication).
+     */
+    public static volatile Path HOME_DIR;
+    public static volatile GameSettings GAME_SETTINGS;
 
-    /*Initialize GameSettings when class is loaded.
-    * Loads settings from settings.json in home directory and creates new default settings if it does not exist.
+    /**
+     * Completes when JavaFx is started and loading screen is shown.
      */
-    static {
-        final Logger LOGGER = LoggerUtil.getLogger("KailexApp");
+    public static final CompletableFuture<Stage> STARTED = new CompletableFuture<>();
 
-        GameSettings tmpSettings;
+    /**
+     * Loads settings from settings.json in home directory and creates new default settings if it does not exist.
+     * @throws IOException if default settings cannot be created.
+     */
+    public static GameSettings loadSettings(Path homeDir) throws IOException {
         try {
-            tmpSettings = FileUtil.loadFromJson(HOME_DIR.resolve("settings.json"), GameSettings.class);
+            return FileUtil.loadFromJson(homeDir.resolve("settings.json"), GameSettings.class);
         }
         catch (Exception e) {
-            LOGGER.log(Level.INFO, "Cannot load settings. Creating new ...");
-            try {
-                tmpSettings = new GameSettings("default_pack.zip");
-            }
-            catch (IOException ex) {
-                LOGGER.log(Level.SEVERE, "Cannot create settings. Application will be closed.");
-                LoggerUtil.showError("Cannot create settings. Application will be closed.");
-                tmpSettings = null;
-            }
+            LoggerUtil.getLogger("KailexApp").log(Level.INFO, "Cannot load settings. Creating new ...");
+            return new GameSettings("default_pack.zip");
         }
-        GAME_SETTINGS = tmpSettings;
     }
 
     public static void main(String[] args) {
@@ -66,12 +64,20 @@ public class KailexApp extends Application {
 
         stage.show();
 
-        if (activeController == null) stage.close();
+        if (activeController == null) {
+            stage.close();
+            STARTED.completeExceptionally(new IllegalStateException("Cannot show loading screen."));
+            return;
+        }
+        STARTED.complete(stage);
     }
 
     @Override
     public void stop() throws IOException {
+        TextureManager.ANIMATION_CLOCK.forceStop();
+
         //Save game settings to json
+        if (GAME_SETTINGS == null) return;
         final Path settingsPath = HOME_DIR.resolve("settings.json");
         FileUtil.saveToJson(settingsPath, GAME_SETTINGS);
     }
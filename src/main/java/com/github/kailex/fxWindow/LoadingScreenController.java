@@ -1,15 +1,14 @@
 package com.github.kailex.fxWindow;
 
+import com.github.kailex.api.resourcepack.SpriteSheet;
 import com.github.kailex.api.util.FxUtils;
 import com.github.kailex.api.util.IController;
-import com.github.kailex.api.util.ImageUtil;
 import com.github.kailex.api.util.LoggerUtil;
 import javafx.animation.FadeTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 import javafx.util.Duration;
@@ -23,7 +22,7 @@ import java.util.logging.Level;
  * This class manages loading screen and manage incoming data.
  *
  * @author Kai Sturm
- * @version 1.1
+ * @version 1.4
  */
 public class LoadingScreenController implements IController<LoadingScreenController>, Initializable {
     @FXML private ProgressBar prgbar;
@@ -36,20 +35,16 @@ public class LoadingScreenController implements IController<LoadingScreenControl
         return this;
     }
 
+    /**
+     * May run on FXML preloader thread, so fades are started in onShow().
+     */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         try {
-            FxUtils.fadeNode(prgbar, 4000, 0.0, 1.0);
-            FxUtils.fadeNode(lbl_prgbar, 4000, 0.0, 1.0);
-            FxUtils.fadeNode(imv_upper, 4000, 0.0, 1.0);
-            FxUtils.fadeNode(imv_lower, 4000, 0.0, 1.0);
-
-            Image img = ImageUtil.loadImage("images/mojangstudios.png");
-            int halfImageHeight = (int)(img.getHeight()/2);
-            Image upperImage = ImageUtil.getImageSnippet(img, 0, 0, (int)img.getWidth(), halfImageHeight);
-            Image lowerImage = ImageUtil.getImageSnippet(img, 0, halfImageHeight , (int)img.getWidth(), halfImageHeight);
-            imv_upper.setImage(upperImage);
-            imv_lower.setImage(lowerImage);
+            SpriteSheet sheet = SpriteSheet.get("images/mojangstudios.png");
+            int halfImageHeight = sheet.getHeight() / 2;
+            sheet.sprite(0, 0, sheet.getWidth(), halfImageHeight).applyTo(imv_upper);
+            sheet.sprite(0, halfImageHeight, sheet.getWidth(), halfImageHeight).applyTo(imv_lower);
 
         } catch (IOException e) {
             LoggerUtil.getLogger("LoadingScreenController").log(Level.WARNING, "Can't load title picture");
@@ -57,8 +52,24 @@ public class LoadingScreenController implements IController<LoadingScreenControl
         setData("Starting Game", -10);
     }
 
+    @Override
+    public void onShow() {
+        FxUtils.fadeNode(prgbar, 4000, 0.0, 1.0);
+        FxUtils.fadeNode(lbl_prgbar, 4000, 0.0, 1.0);
+        FxUtils.fadeNode(imv_upper, 4000, 0.0, 1.0);
+        FxUtils.fadeNode(imv_lower, 4000, 0.0, 1.0);
+    }
+
     public void setData(String text, int progress){
+        setText(text);
+        setProgress(progress);
+    }
+
+    public void setText(String text){
         lbl_prgbar.setText(text);
+    }
+
+    public void setProgress(int progress){
         prgbar.setProgress(progress/100.0);
     }
 }
\ No newline at end of file